@@ -1,51 +1,93 @@
 package Reference;
-import java.util.ArrayList;
+import Common.Money;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Bank account for ATM simulation.
+ * Money is held as a whole number of cents so balances never drift.
+ * Updates synchronize on the account, so concurrent sessions on one account stay consistent.
+ * Only the most recent transactions are kept (see {@link TransactionHistory}).
+ * The PIN is stored as a salted SHA-256 hash and checked in constant time. With only 10,000
+ * possible PINs the hash mainly keeps them out of memory dumps; {@link PinThrottle} is what
+ * stops guessing.
  */
 public class ATMAccount {
-    private static int NEXT_ACC_NUMBER = 10001;
+    public static final int DEFAULT_HISTORY_CAPACITY = 100;
+    private static final AtomicInteger NEXT_ACC_NUMBER = new AtomicInteger(10001);
+    private static final SecureRandom SALTS = new SecureRandom();
 
     private final int accountNumber;
-    private final int pin;
-    private double balance;
-    private final List<String> history = new ArrayList<>();
+    private final byte[] pinSalt = new byte[16];
+    private final byte[] pinHash;
+    private volatile long balanceCents;
+    private final TransactionHistory history;
 
-    public ATMAccount(int pin, double initialBalance) {
+    public ATMAccount(int pin, long initialCents) {
+        this(pin, initialCents, DEFAULT_HISTORY_CAPACITY);
+    }
+
+    /** @param historyCapacity how many recent transactions to retain */
+    public ATMAccount(int pin, long initialCents, int historyCapacity) {
         if (pin < 1000 || pin > 9999) throw new IllegalArgumentException("PIN must be 4 digits");
-        if (initialBalance < 0) throw new IllegalArgumentException("Initial balance cannot be negative");
-        this.accountNumber = NEXT_ACC_NUMBER++;
-        this.pin = pin;
-        this.balance = initialBalance;
-        history.add(String.format("Account created with balance %.2f", initialBalance));
+        if (initialCents < 0) throw new IllegalArgumentException("Initial balance cannot be negative");
+        this.accountNumber = NEXT_ACC_NUMBER.getAndIncrement();
+        SALTS.nextBytes(pinSalt);
+        this.pinHash = hashPin(pinSalt, pin);
+        this.balanceCents = initialCents;
+        this.history = new TransactionHistory(historyCapacity);
+        history.record(TransactionHistory.OPEN, initialCents, initialCents);
     }
 
     public int getAccountNumber() { return accountNumber; }
 
-    public boolean authenticate(int pin) { return this.pin == pin; }
+    public boolean authenticate(int pin) { return MessageDigest.isEqual(pinHash, hashPin(pinSalt, pin)); }
 
-    public double getBalance() { return balance; }
+    private static byte[] hashPin(byte[] salt, int pin) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(salt);
+            sha.update(new byte[] {(byte) (pin >>> 24), (byte) (pin >>> 16), (byte) (pin >>> 8), (byte) pin});
+            return sha.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by every Java runtime", e);
+        }
+    }
 
-    public void deposit(double amt) {
-        if (amt <= 0) throw new IllegalArgumentException("Deposit must be positive");
-        balance += amt;
-        history.add(String.format("Deposit %.2f | New balance %.2f", amt, balance));
+    public long getBalanceCents() { return balanceCents; }
+
+    /** Deposits and returns the new balance. */
+    public synchronized long deposit(long cents) {
+        if (cents <= 0) throw new IllegalArgumentException("Deposit must be positive");
+        balanceCents = Math.addExact(balanceCents, cents);
+        history.record(TransactionHistory.DEPOSIT, cents, balanceCents);
+        return balanceCents;
     }
 
-    public void withdraw(double amt) throws InsufficientFundsException {
-        if (amt <= 0) throw new IllegalArgumentException("Withdrawal must be positive");
-        if (amt > balance) throw new InsufficientFundsException("Insufficient funds");
-        balance -= amt;
-        history.add(String.format("Withdraw %.2f | New balance %.2f", amt, balance));
+    /** Withdraws and returns the new balance. */
+    public synchronized long withdraw(long cents) throws InsufficientFundsException {
+        if (cents <= 0) throw new IllegalArgumentException("Withdrawal must be positive");
+        if (cents > balanceCents) throw new InsufficientFundsException("Insufficient funds");
+        balanceCents -= cents;
+        history.record(TransactionHistory.WITHDRAW, cents, balanceCents);
+        return balanceCents;
     }
 
-    public List<String> getHistory() { return history; }
+    /** The retained history as text, oldest first; formatting happens outside the account lock. */
+    public List<String> getHistory() {
+        TransactionHistory snapshot;
+        synchronized (this) {
+            snapshot = history.copy();
+        }
+        return snapshot.format();
+    }
 
     @Override
     public String toString() {
-        return String.format("#%d | Balance: %.2f", accountNumber, balance);
+        return String.format("#%d | Balance: %s", accountNumber, Money.formatCents(balanceCents));
     }
 }
 
@@ -0,0 +1,352 @@
+package Reference;
+
+import Common.Money;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP/JSON front end to {@link ATMService}, so the ATM can be driven by many clients at once.
+ * <pre>
+ *   POST   /sessions  {"account": 10001, "pin": 1234}  -> {"token": "..."}
+ *   DELETE /sessions                                    -> ends the session
+ *   GET    /balance                                     -> {"account": 10001, "balance": "500.00"}
+ *   POST   /deposit   {"amount": "10.50"}               -> {"account": 10001, "balance": "510.50"}
+ *   POST   /withdraw  {"amount": "10.50"}               -> {"account": 10001, "balance": "500.00"}
+ *   GET    /history                                     -> {"history": ["...", ...]}
+ * </pre>
+ * Every call except POST /sessions needs an {@code Authorization: Bearer <token>} header.
+ * A session expires after 10 idle minutes; at most 100,000 are open at once, and further logins
+ * get 429 until some expire or log out.
+ * Errors come back as {"error": "..."} with a 4xx status; throttled logins get 429 and Retry-After.
+ * <p>
+ * Requests run one per virtual thread when the JVM has them (Java 21+), otherwise on a cached
+ * pool. Concurrent sessions on the same account are safe because {@link ATMAccount} synchronizes
+ * its updates.
+ * <p>
+ * Usage: java Reference.ATMHttpServer [--port 8080] [--accounts 1] [--history 100]
+ * (demo accounts are numbered from 10001, all with PIN 1234 and 500.00 opening balance)
+ */
+public class ATMHttpServer {
+    private static final int DEMO_PIN = 1234;
+    private static final long DEMO_BALANCE_CENTS = 50_000;
+    private static final int MAX_BODY_BYTES = 4096;
+    static final long SESSION_IDLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+    static final int MAX_SESSIONS = 100_000;
+
+    /** A logged-in account and when its token was last used. */
+    private static final class Session {
+        final ATMAccount account;
+        volatile long lastUsed; // System.nanoTime()
+
+        Session(ATMAccount account, long now) {
+            this.account = account;
+            this.lastUsed = now;
+        }
+
+        boolean expired(long now) {
+            return now - lastUsed > SESSION_IDLE_NANOS;
+        }
+    }
+
+    private final ATMService atm;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService reaper;
+    private final boolean virtualThreads;
+
+    public ATMHttpServer(ATMService atm, int port) throws IOException {
+        this.atm = atm;
+        this.reaper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "session-reaper");
+            t.setDaemon(true);
+            return t;
+        });
+        reaper.scheduleWithFixedDelay(this::purgeExpiredSessions, 1, 1, TimeUnit.MINUTES);
+        this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+        ExecutorService perTask = virtualThreadExecutor();
+        this.virtualThreads = perTask != null;
+        this.executor = perTask != null ? perTask : Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "atm-http");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/sessions", this::sessions);
+        server.createContext("/balance", ex -> handle(ex, "GET", () -> {
+            ATMAccount acc = session(ex);
+            return balanceJson(acc, atm.getBalance(acc));
+        }));
+        // report the balance returned by the update itself, not a re-read that may include other sessions' work
+        server.createContext("/deposit", ex -> handle(ex, "POST", () -> {
+            ATMAccount acc = session(ex);
+            return balanceJson(acc, atm.deposit(acc, amountCents(readBody(ex))));
+        }));
+        server.createContext("/withdraw", ex -> handle(ex, "POST", () -> {
+            ATMAccount acc = session(ex);
+            return balanceJson(acc, atm.withdraw(acc, amountCents(readBody(ex))));
+        }));
+        server.createContext("/history", ex -> handle(ex, "GET", () -> historyJson(atm.getHistory(session(ex)))));
+    }
+
+    /**
+     * Tunes the JDK HTTP server for many concurrent sessions. It reads these system properties once,
+     * when the first server in the JVM is created, so callers that want them must call this first;
+     * {@code -D} flags given at launch take precedence.
+     */
+    static void tuneJdkHttpServer() {
+        // Beyond this many idle keep-alive connections the JDK server closes the extra ones, which
+        // clients only notice as a reset on their next request. Allow one per concurrent session.
+        if (System.getProperty("sun.net.httpserver.maxIdleConnections") == null) {
+            System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(MAX_SESSIONS));
+        }
+        // small request/response pairs; don't let Nagle hold back the response body
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 8080;
+        int accounts = 1;
+        int history = ATMAccount.DEFAULT_HISTORY_CAPACITY;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--port") && i + 1 < args.length) port = Integer.parseInt(args[++i]);
+            else if (args[i].equals("--accounts") && i + 1 < args.length) accounts = Integer.parseInt(args[++i]);
+            else if (args[i].equals("--history") && i + 1 < args.length) history = Integer.parseInt(args[++i]);
+        }
+        ATMService atm = new InMemoryATMService(history);
+        for (int i = 0; i < accounts; i++) atm.openAccount(DEMO_PIN, DEMO_BALANCE_CENTS);
+        tuneJdkHttpServer();
+        ATMHttpServer server = new ATMHttpServer(atm, port);
+        server.start();
+        System.out.printf("ATM HTTP server on port %d with %d demo account(s), %s%n", port, accounts,
+                server.usesVirtualThreads() ? "virtual threads" : "platform thread pool");
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+        reaper.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public int getOpenSessions() {
+        return sessions.size();
+    }
+
+    /** Drops every session idle for longer than the timeout; returns how many were dropped. */
+    int purgeExpiredSessions() {
+        long now = System.nanoTime();
+        int before = sessions.size();
+        sessions.values().removeIf(s -> s.expired(now));
+        return before - sessions.size();
+    }
+
+    /**
+     * A virtual-thread-per-task executor, or null before Java 21. Looked up reflectively so the
+     * class still compiles and runs on Java 17.
+     */
+    static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    // ---- handlers ---- //
+
+    /** Work done for one request; returns the JSON response body. */
+    @FunctionalInterface
+    private interface Action {
+        String run() throws Exception;
+    }
+
+    private void sessions(HttpExchange ex) throws IOException {
+        if (ex.getRequestMethod().equals("DELETE")) {
+            handle(ex, "DELETE", () -> {
+                session(ex);
+                sessions.remove(bearerToken(ex));
+                return "{}";
+            });
+            return;
+        }
+        handle(ex, "POST", () -> {
+            String body = readBody(ex);
+            String source = ex.getRemoteAddress().getAddress().getHostAddress();
+            ATMAccount acc = atm.authenticate(intField(body, "account"), intField(body, "pin"), source);
+            if (sessions.size() >= MAX_SESSIONS && purgeExpiredSessions() == 0) {
+                throw new TooManyAttemptsException("Too many open sessions", 60);
+            }
+            String token = newToken();
+            sessions.put(token, new Session(acc, System.nanoTime()));
+            return "{\"token\":\"" + token + "\"}";
+        });
+    }
+
+    private void handle(HttpExchange ex, String method, Action action) throws IOException {
+        int status = 200;
+        String body;
+        try {
+            if (!ex.getRequestMethod().equals(method)) {
+                status = 405;
+                body = error("Use " + method);
+            } else {
+                body = action.run();
+            }
+        } catch (UnauthorizedException | InvalidPINException e) {
+            status = 401;
+            body = error(e.getMessage());
+        } catch (TooManyAttemptsException e) {
+            status = 429;
+            ex.getResponseHeaders().set("Retry-After", String.valueOf(e.getRetryAfterSeconds()));
+            body = error(e.getMessage());
+        } catch (InsufficientFundsException e) {
+            status = 409;
+            body = error(e.getMessage());
+        } catch (IllegalArgumentException | ArithmeticException e) { // ArithmeticException: balance overflow
+            status = 400;
+            body = error(e.getMessage());
+        } catch (Exception e) {
+            status = 500;
+            body = error(e.toString());
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private ATMAccount session(HttpExchange ex) throws UnauthorizedException {
+        String token = bearerToken(ex);
+        Session s = token == null ? null : sessions.get(token);
+        long now = System.nanoTime();
+        if (s != null && s.expired(now)) {
+            sessions.remove(token, s);
+            s = null;
+        }
+        if (s == null) throw new UnauthorizedException("Missing or expired session");
+        s.lastUsed = now;
+        return s.account;
+    }
+
+    private static String bearerToken(HttpExchange ex) {
+        String header = ex.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) return null;
+        return header.substring("Bearer ".length()).trim();
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[16];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // ---- JSON ---- //
+
+    private static String balanceJson(ATMAccount acc, long balanceCents) {
+        return "{\"account\":" + acc.getAccountNumber() + ",\"balance\":\"" + Money.formatCents(balanceCents) + "\"}";
+    }
+
+    private static String historyJson(List<String> history) {
+        StringBuilder sb = new StringBuilder("{\"history\":[");
+        for (int i = 0; i < history.size(); i++) {
+            if (i > 0) sb.append(',');
+            appendString(sb, history.get(i));
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static String error(String message) {
+        StringBuilder sb = new StringBuilder("{\"error\":");
+        appendString(sb, message == null ? "error" : message);
+        return sb.append('}').toString();
+    }
+
+    private static void appendString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') sb.append('\\').append(c);
+            else if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+            else sb.append(c);
+        }
+        sb.append('"');
+    }
+
+    private static String readBody(HttpExchange ex) throws IOException {
+        try (InputStream in = ex.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) throw new IllegalArgumentException("Request body too large");
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /** Amount as a JSON number or string with at most two decimals, in cents. */
+    private static long amountCents(String body) {
+        long cents;
+        try {
+            cents = Money.parseCents(field(body, "amount"));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Use at most two decimal places");
+        }
+        if (cents <= 0) throw new IllegalArgumentException("Amount must be positive");
+        return cents;
+    }
+
+    private static int intField(String body, String name) {
+        return Integer.parseInt(field(body, name));
+    }
+
+    /**
+     * Raw value of a top-level field in a flat JSON object, with quotes removed from strings.
+     * The request bodies here only ever carry numbers, so nested values are not supported.
+     */
+    private static String field(String body, String name) {
+        String key = "\"" + name + "\"";
+        int at = body.indexOf(key);
+        if (at < 0) throw new IllegalArgumentException("Missing field: " + name);
+        int i = body.indexOf(':', at + key.length());
+        if (i < 0) throw new IllegalArgumentException("Malformed field: " + name);
+        i++;
+        while (i < body.length() && Character.isWhitespace(body.charAt(i))) i++;
+        boolean quoted = i < body.length() && body.charAt(i) == '"';
+        if (quoted) i++;
+        int end = i;
+        while (end < body.length() && (quoted ? body.charAt(end) != '"' : ",} \t\r\n".indexOf(body.charAt(end)) < 0)) end++;
+        String value = body.substring(i, end);
+        if (value.isEmpty()) throw new IllegalArgumentException("Empty field: " + name);
+        return value;
+    }
+}
+
+class UnauthorizedException extends Exception { public UnauthorizedException(String m){super(m);} }
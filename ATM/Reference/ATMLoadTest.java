@@ -0,0 +1,159 @@
+package Reference;
+
+import Common.Money;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives {@link ATMHttpServer} with many concurrent sessions and checks that no money is lost.
+ * Sessions are spread round-robin over the accounts, so many of them hit the same account at
+ * once. Each session logs in, does {@code ops} deposit/withdraw pairs of 1.00 and logs out;
+ * afterwards every balance must equal its opening balance. Logins rejected by the PIN throttle
+ * (429) are retried after a short pause, since concurrent logins to one account are expected here.
+ * <p>
+ * Usage: java Reference.ATMLoadTest [--sessions 2000] [--ops 10] [--accounts 10] [--url http://host:port]
+ * Without --url an embedded server is started on a free port.
+ */
+public class ATMLoadTest {
+    private static final int PIN = 1234;
+    private static final long OPENING_CENTS = 50_000;
+
+    public static void main(String[] args) throws Exception {
+        int sessions = 2_000;
+        int ops = 10;
+        int accounts = 10;
+        String url = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--sessions") && i + 1 < args.length) sessions = Integer.parseInt(args[++i]);
+            else if (args[i].equals("--ops") && i + 1 < args.length) ops = Integer.parseInt(args[++i]);
+            else if (args[i].equals("--accounts") && i + 1 < args.length) accounts = Integer.parseInt(args[++i]);
+            else if (args[i].equals("--url") && i + 1 < args.length) url = args[++i];
+        }
+
+        int[] numbers = new int[accounts];
+        ATMHttpServer embedded = null;
+        if (url == null) {
+            // every simulated session comes from this one address, so lift the per-source limit
+            PinThrottle throttle = new PinThrottle(PinThrottle.ACCOUNT_DEFAULT,
+                    new PinThrottle.Policy(sessions, Duration.ofMillis(1), 20, Duration.ofMinutes(5)), System::nanoTime);
+            ATMService atm = new InMemoryATMService(ATMAccount.DEFAULT_HISTORY_CAPACITY, throttle);
+            for (int i = 0; i < accounts; i++) numbers[i] = atm.openAccount(PIN, OPENING_CENTS).getAccountNumber();
+            ATMHttpServer.tuneJdkHttpServer();
+            embedded = new ATMHttpServer(atm, 0);
+            embedded.start();
+            url = "http://localhost:" + embedded.getPort();
+        } else {
+            for (int i = 0; i < accounts; i++) numbers[i] = 10_001 + i; // ATMHttpServer's demo accounts
+        }
+
+        ExecutorService clients = ATMHttpServer.virtualThreadExecutor();
+        if (clients == null) clients = Executors.newFixedThreadPool(Math.min(sessions, 256));
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String base = url;
+        int opsPerSession = ops;
+        long[] latencies = new long[sessions * (2 * ops + 2)];
+        AtomicInteger recorded = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        long start = System.nanoTime();
+        List<Future<?>> running = new ArrayList<>(sessions);
+        for (int s = 0; s < sessions; s++) {
+            int account = numbers[s % accounts];
+            running.add(clients.submit(() -> {
+                Client c = new Client(http, base, latencies, recorded);
+                try {
+                    String token = c.login(account);
+                    for (int i = 0; i < opsPerSession; i++) {
+                        if (c.call("POST", "/deposit", token, "{\"amount\":\"1.00\"}") != 200) failures.incrementAndGet();
+                        if (c.call("POST", "/withdraw", token, "{\"amount\":\"1.00\"}") != 200) failures.incrementAndGet();
+                    }
+                    c.call("DELETE", "/sessions", token, null);
+                } catch (Exception e) {
+                    if (failures.getAndIncrement() == 0) System.err.println("First failure: " + e);
+                }
+            }));
+        }
+        for (Future<?> f : running) f.get();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int conserved = 0;
+        Client checker = new Client(http, base, latencies, new AtomicInteger(latencies.length));
+        for (int number : numbers) {
+            String token = checker.login(number);
+            if (checker.body("GET", "/balance", token).contains("\"" + Money.formatCents(OPENING_CENTS) + "\"")) conserved++;
+        }
+
+        int n = Math.min(recorded.get(), latencies.length);
+        long[] sorted = Arrays.copyOf(latencies, n);
+        Arrays.sort(sorted);
+        System.out.printf("%d sessions x %d ops on %d accounts (%s clients): %d requests in %.2fs (%.0f req/s)%n",
+                sessions, ops, accounts, ATMHttpServer.virtualThreadExecutor() != null ? "virtual" : "pooled",
+                n, seconds, n / seconds);
+        System.out.printf("latency p50 %.2f ms, p99 %.2f ms, max %.2f ms; failed ops: %d%n",
+                sorted[n / 2] / 1e6, sorted[(int) (n * 0.99)] / 1e6, sorted[n - 1] / 1e6, failures.get());
+        System.out.printf("balances conserved on %d/%d accounts: %s%n", conserved, accounts,
+                conserved == accounts && failures.get() == 0 ? "OK" : "FAILED");
+
+        clients.shutdown();
+        if (embedded != null) embedded.stop();
+        System.exit(conserved == accounts && failures.get() == 0 ? 0 : 1);
+    }
+
+    /** Blocking client for one session; records each request's latency. */
+    private static final class Client {
+        private final HttpClient http;
+        private final String base;
+        private final long[] latencies;
+        private final AtomicInteger recorded;
+
+        Client(HttpClient http, String base, long[] latencies, AtomicInteger recorded) {
+            this.http = http;
+            this.base = base;
+            this.latencies = latencies;
+            this.recorded = recorded;
+        }
+
+        String login(int account) throws Exception {
+            HttpResponse<String> res;
+            while (true) {
+                res = send("POST", "/sessions", null, "{\"account\":" + account + ",\"pin\":" + PIN + "}");
+                if (res.statusCode() != 429) break;
+                Thread.sleep(ThreadLocalRandom.current().nextInt(5, 20));
+            }
+            if (res.statusCode() != 200) throw new IllegalStateException("Login failed: " + res.body());
+            String body = res.body();
+            int at = body.indexOf("\"token\":\"") + "\"token\":\"".length();
+            return body.substring(at, body.indexOf('"', at));
+        }
+
+        int call(String method, String path, String token, String json) throws Exception {
+            return send(method, path, token, json).statusCode();
+        }
+
+        String body(String method, String path, String token) throws Exception {
+            return send(method, path, token, null).body();
+        }
+
+        private HttpResponse<String> send(String method, String path, String token, String json) throws Exception {
+            HttpRequest.Builder req = HttpRequest.newBuilder(URI.create(base + path))
+                    .method(method, json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json));
+            if (token != null) req.header("Authorization", "Bearer " + token);
+            long t0 = System.nanoTime();
+            HttpResponse<String> res = http.send(req.build(), HttpResponse.BodyHandlers.ofString());
+            int slot = recorded.getAndIncrement();
+            if (slot < latencies.length) latencies[slot] = System.nanoTime() - t0;
+            return res;
+        }
+    }
+}
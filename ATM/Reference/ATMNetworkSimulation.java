@@ -0,0 +1,111 @@
+package Reference;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs N {@link ATMTerminal} processes against one in-process {@link CoreBankingHost} and
+ * reports how throughput scales as terminals are added. Each round starts fresh JVMs, lets them
+ * all begin at the same instant, then checks that every shared account is back at its opening
+ * balance (deposits and withdrawals come in equal pairs, and retried requests must not be
+ * applied twice).
+ * <p>
+ * Usage: java Reference.ATMNetworkSimulation [--max-terminals 8] [--seconds 5] [--pipeline 32]
+ *        [--accounts 10] [--drop-rate 0.001]
+ */
+public class ATMNetworkSimulation {
+    private static final int[] TERMINALS = {1, 2, 4, 8, 16, 32};
+    private static final long JVM_STARTUP_MILLIS = 3_000;
+
+    public static void main(String[] args) throws Exception {
+        int maxTerminals = 8;
+        String seconds = "5";
+        String pipeline = "32";
+        int accounts = 10;
+        String dropRate = "0.001";
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length) break;
+            switch (args[i]) {
+                case "--max-terminals" -> maxTerminals = Integer.parseInt(args[++i]);
+                case "--seconds" -> seconds = args[++i];
+                case "--pipeline" -> pipeline = args[++i];
+                case "--accounts" -> accounts = Integer.parseInt(args[++i]);
+                case "--drop-rate" -> dropRate = args[++i];
+                default -> { }
+            }
+        }
+
+        ATMService atm = new InMemoryATMService();
+        int[] numbers = new int[accounts];
+        for (int i = 0; i < accounts; i++) numbers[i] = atm.openAccount(CoreBankingHost.DEMO_PIN, CoreBankingHost.DEMO_BALANCE_CENTS).getAccountNumber();
+        if (numbers[0] != 10_001) throw new IllegalStateException("Terminals expect accounts from #10001");
+        CoreBankingHost host = new CoreBankingHost(atm, 0);
+        host.start();
+
+        System.out.printf("%d shared accounts, pipeline %s, drop rate %s, %s s per round, %d CPU(s)%n",
+                accounts, pipeline, dropRate, seconds, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%10s %14s %14s %10s %10s %10s%n", "terminals", "ops/s", "per terminal", "speedup", "retries", "balances");
+        double baseline = 0;
+        boolean allConserved = true;
+        for (int terminals : TERMINALS) {
+            if (terminals > maxTerminals) break;
+            long startAt = System.currentTimeMillis() + JVM_STARTUP_MILLIS;
+            List<Process> processes = new ArrayList<>();
+            for (int t = 1; t <= terminals; t++) {
+                processes.add(new ProcessBuilder(javaBinary(), "-cp", System.getProperty("java.class.path"),
+                        ATMTerminal.class.getName(), "--port", String.valueOf(host.getPort()), "--terminal", String.valueOf(t),
+                        "--accounts", String.valueOf(accounts), "--seconds", seconds, "--pipeline", pipeline,
+                        "--drop-rate", dropRate, "--start-at", String.valueOf(startAt))
+                        .redirectErrorStream(true).start());
+            }
+            double opsPerSecond = 0;
+            long retries = 0;
+            for (Process p : processes) {
+                String result = resultLine(p);
+                opsPerSecond += Long.parseLong(field(result, "ops")) / Double.parseDouble(field(result, "seconds"));
+                retries += Long.parseLong(field(result, "retries"));
+            }
+            boolean conserved = true;
+            for (int number : numbers) conserved &= atm.getBalance(atm.findAccount(number)) == CoreBankingHost.DEMO_BALANCE_CENTS;
+            allConserved &= conserved;
+            if (baseline == 0) baseline = opsPerSecond;
+            System.out.printf("%10d %,14.0f %,14.0f %9.2fx %10d %10s%n", terminals, opsPerSecond, opsPerSecond / terminals,
+                    opsPerSecond / baseline, retries, conserved ? "OK" : "DRIFTED");
+        }
+        System.out.printf("host applied %,d requests and answered %,d retries from remembered outcomes%n",
+                host.getApplied(), host.getReplayed());
+        host.stop();
+        System.exit(allConserved ? 0 : 1);
+    }
+
+    private static String javaBinary() {
+        return System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    }
+
+    /** Waits for the terminal to exit and returns its RESULT line, failing with its output otherwise. */
+    private static String resultLine(Process p) throws IOException, InterruptedException {
+        StringBuilder output = new StringBuilder();
+        String result = null;
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(p.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                if (line.startsWith("RESULT ")) result = line;
+                else output.append(line).append('\n');
+            }
+        }
+        if (p.waitFor() != 0 || result == null) throw new IllegalStateException("Terminal failed:\n" + output);
+        return result;
+    }
+
+    private static String field(String result, String name) {
+        for (String part : result.split(" ")) {
+            if (part.startsWith(name + "=")) return part.substring(name.length() + 1);
+        }
+        throw new IllegalStateException("No " + name + " in " + result);
+    }
+}
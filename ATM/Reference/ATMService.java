@@ -0,0 +1,30 @@
+package Reference;
+import java.util.List;
+
+/**
+ * ATM operations, independent of any console I/O.
+ * The {@link ATMAccount} returned by {@link #authenticate} acts as the session handle.
+ */
+public interface ATMService {
+
+    ATMAccount openAccount(int pin, long initialCents);
+
+    /** Returns the account with this number, or null if there is none. */
+    ATMAccount findAccount(int accountNumber);
+
+    /**
+     * Checks the PIN, subject to attempt limits per account and per {@code source}
+     * (the terminal or client address the attempt came from).
+     */
+    ATMAccount authenticate(int accountNumber, int pin, String source) throws InvalidPINException, TooManyAttemptsException;
+
+    long getBalance(ATMAccount acc);
+
+    /** Deposits and returns the new balance in cents. */
+    long deposit(ATMAccount acc, long cents);
+
+    /** Withdraws and returns the new balance in cents. */
+    long withdraw(ATMAccount acc, long cents) throws InsufficientFundsException;
+
+    List<String> getHistory(ATMAccount acc);
+}
@@ -1,62 +1,55 @@
 package Reference;
-import java.util.ArrayList;
-import java.util.List;
+import Common.Money;
 import java.util.Scanner;
 
 /**
  * Simple ATM Simulator CLI
+ * A thin console client of {@link ATMService}.
  */
 public class ATMSimulatorCLI {
 
     private static final Scanner SCANNER = new Scanner(System.in);
-    private static final List<ATMAccount> ACCOUNTS = new ArrayList<>();
+    private static final ATMService ATM = new InMemoryATMService();
 
     public static void main(String[] args) {
         // pre-create a demo account
-        ACCOUNTS.add(new ATMAccount(1234, 500));
+        ATM.openAccount(1234, 50_000);
 
         System.out.println("===== ATM Simulator =====");
         while (true) {
             System.out.print("Enter account number (0 to exit): ");
             int accNum = Integer.parseInt(SCANNER.nextLine().trim());
             if (accNum == 0) return;
-            ATMAccount acc = findAccount(accNum);
-            if (acc == null) { System.out.println("Account not found."); continue; }
             System.out.print("Enter PIN: ");
             int pin = Integer.parseInt(SCANNER.nextLine().trim());
             try {
-                if (!acc.authenticate(pin)) throw new InvalidPINException("Wrong PIN");
-                session(acc);
-            } catch (InvalidPINException e) {
+                session(ATM.authenticate(accNum, pin, "console"));
+            } catch (InvalidPINException | TooManyAttemptsException e) {
                 System.out.println(e.getMessage());
             }
         }
     }
 
-    private static ATMAccount findAccount(int num) {
-        return ACCOUNTS.stream().filter(a -> a.getAccountNumber() == num).findFirst().orElse(null);
-    }
-
     private static void session(ATMAccount acc) {
         while (true) {
             printMenu();
             int choice = readInt("Choose option: ");
             try {
                 switch (choice) {
-                    case 1 -> System.out.printf("Current balance: %.2f%n", acc.getBalance());
+                    case 1 -> System.out.println("Current balance: " + Money.formatCents(ATM.getBalance(acc)));
                     case 2 -> {
-                        double amt = readDouble("Deposit amount: ");
-                        acc.deposit(amt);
+                        long amt = readCents("Deposit amount: ");
+                        ATM.deposit(acc, amt);
                         System.out.println("Deposited.");
                     }
                     case 3 -> {
-                        double amt = readDouble("Withdraw amount: ");
-                        acc.withdraw(amt);
+                        long amt = readCents("Withdraw amount: ");
+                        ATM.withdraw(acc, amt);
                         System.out.println("Withdrawn.");
                     }
                     case 4 -> {
                         System.out.println("--- History ---");
-                        acc.getHistory().forEach(System.out::println);
+                        ATM.getHistory(acc).forEach(System.out::println);
                     }
                     case 5 -> {
                         System.out.println("Session ended.\n");
@@ -86,11 +79,13 @@ public class ATMSimulatorCLI {
         }
     }
 
-    private static double readDouble(String prompt) {
+    // amounts are entered as decimals and handled as whole cents
+    private static long readCents(String prompt) {
         while (true) {
             System.out.print(prompt);
-            try { return Double.parseDouble(SCANNER.nextLine().trim()); }
+            try { return Money.parseCents(SCANNER.nextLine()); }
             catch (NumberFormatException e) { System.out.println("Enter number."); }
+            catch (ArithmeticException e) { System.out.println("Use at most two decimal places."); }
         }
     }
 }
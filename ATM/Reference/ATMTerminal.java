@@ -0,0 +1,199 @@
+package Reference;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One ATM terminal talking to a {@link CoreBankingHost}.
+ * Requests are pipelined: a window of up to {@code pipeline} requests is written in one flush and
+ * the responses are read back in order. Every deposit and withdrawal carries its own token, and a
+ * request whose response never arrives (connection dropped, or a loss simulated with
+ * --drop-rate) is resent with the same token, so the host applies it only once.
+ * <p>
+ * Run on its own this is a load generator for {@link ATMNetworkSimulation}: it repeatedly deposits
+ * and then withdraws the same amount on random shared accounts, so balances must end where they
+ * started, and prints one "RESULT" line.
+ * <p>
+ * Usage: java Reference.ATMTerminal --port 7070 [--terminal 1] [--accounts 10] [--seconds 5]
+ *        [--pipeline 32] [--drop-rate 0.0] [--start-at epochMillis]
+ */
+public class ATMTerminal implements Closeable {
+    private static final int MAX_RECONNECTS = 5;
+
+    /** One request in flight; the same token is reused on every resend. */
+    private static final class Request {
+        final String command;
+        final int account;
+        final long cents;
+        final String token;
+        String response;
+
+        Request(String command, int account, long cents, String token) {
+            this.command = command;
+            this.account = account;
+            this.cents = cents;
+            this.token = token;
+        }
+    }
+
+    private final String host;
+    private final int port;
+    private final Map<Integer, Integer> pins = new LinkedHashMap<>(); // accounts logged in, for reconnects
+    private Socket socket;
+    private BufferedReader in;
+    private BufferedWriter out;
+    private long nextRequestId;
+    private long retries;
+
+    public ATMTerminal(String host, int port) throws IOException {
+        this.host = host;
+        this.port = port;
+        connect();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = 7070;
+        int terminal = 1;
+        int accounts = 10;
+        double seconds = 5;
+        int pipeline = 32;
+        double dropRate = 0;
+        long startAt = 0;
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length) break;
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--terminal" -> terminal = Integer.parseInt(args[++i]);
+                case "--accounts" -> accounts = Integer.parseInt(args[++i]);
+                case "--seconds" -> seconds = Double.parseDouble(args[++i]);
+                case "--pipeline" -> pipeline = Integer.parseInt(args[++i]);
+                case "--drop-rate" -> dropRate = Double.parseDouble(args[++i]);
+                case "--start-at" -> startAt = Long.parseLong(args[++i]);
+                default -> { }
+            }
+        }
+        try (ATMTerminal t = new ATMTerminal("localhost", port)) {
+            for (int a = 0; a < accounts; a++) t.authenticate(10_001 + a, CoreBankingHost.DEMO_PIN);
+            long delay = startAt - System.currentTimeMillis();
+            if (delay > 0) Thread.sleep(delay);
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            // tokens must never repeat across runs, or the host would answer from an old outcome
+            String tokenPrefix = "t" + terminal + "-" + Long.toHexString(new SecureRandom().nextLong()) + "-";
+            long ops = 0;
+            long seq = 0;
+            long start = System.nanoTime();
+            long end = start + (long) (seconds * 1e9);
+            List<Request> window = new ArrayList<>(pipeline);
+            while (System.nanoTime() < end) {
+                window.clear();
+                for (int i = 0; i + 1 < pipeline || window.isEmpty(); i += 2) {
+                    int account = 10_001 + random.nextInt(accounts);
+                    long cents = 1 + random.nextInt(10_000);
+                    window.add(new Request("DEP", account, cents, tokenPrefix + seq++));
+                    window.add(new Request("WDR", account, cents, tokenPrefix + seq++));
+                }
+                t.execute(window, dropRate);
+                for (Request r : window) {
+                    if (!r.response.startsWith("OK ")) throw new IllegalStateException(r.command + " failed: " + r.response);
+                }
+                ops += window.size();
+            }
+            double elapsed = (System.nanoTime() - start) / 1e9;
+            System.out.printf("RESULT terminal=%d ops=%d retries=%d seconds=%.3f%n", terminal, ops, t.retries, elapsed);
+        }
+    }
+
+    public void authenticate(int account, int pin) throws IOException, InterruptedException {
+        String response = call("AUTH " + (nextRequestId++) + " " + account + " " + pin);
+        // other terminals logging in to the same account at the same moment can trip the throttle
+        for (int i = 0; i < 50 && response.contains(" THROTTLED "); i++) {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(5, 20));
+            response = call("AUTH " + (nextRequestId++) + " " + account + " " + pin);
+        }
+        if (!response.startsWith("OK ")) throw new IOException("Login to #" + account + " failed: " + response);
+        pins.put(account, pin);
+    }
+
+    public long balance(int account) throws IOException {
+        String response = call("BAL " + (nextRequestId++) + " " + account);
+        if (!response.startsWith("OK ")) throw new IOException(response);
+        return Long.parseLong(response.substring(response.lastIndexOf(' ') + 1));
+    }
+
+    /** Requests resent because their response was lost. */
+    public long getRetries() {
+        return retries;
+    }
+
+    /**
+     * Sends the window pipelined and fills in every response, resending lost ones with their
+     * original tokens until all have been answered.
+     */
+    private void execute(List<Request> window, double dropRate) throws IOException, InterruptedException {
+        List<Request> pending = new ArrayList<>(window);
+        int reconnects = 0;
+        for (boolean first = true; !pending.isEmpty(); first = false) {
+            if (!first) retries += pending.size();
+            try {
+                for (Request r : pending) {
+                    out.write(r.command + " " + (nextRequestId++) + " " + r.account + " " + r.cents + " " + r.token);
+                    out.write('\n');
+                }
+                out.flush();
+                List<Request> lost = new ArrayList<>();
+                for (Request r : pending) {
+                    String response = in.readLine();
+                    if (response == null) throw new IOException("Host closed the connection");
+                    if (dropRate > 0 && ThreadLocalRandom.current().nextDouble() < dropRate) lost.add(r); // simulated loss
+                    else r.response = response;
+                }
+                pending = lost;
+            } catch (IOException e) {
+                if (++reconnects > MAX_RECONNECTS) throw e;
+                reconnect();
+                pending.removeIf(r -> r.response != null);
+            }
+        }
+    }
+
+    private String call(String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+        out.flush();
+        String response = in.readLine();
+        if (response == null) throw new IOException("Host closed the connection");
+        return response;
+    }
+
+    private void connect() throws IOException {
+        socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII), 1 << 16);
+    }
+
+    /** Opens a fresh connection and logs in again to every account used so far. */
+    private void reconnect() throws IOException, InterruptedException {
+        close();
+        connect();
+        for (Map.Entry<Integer, Integer> login : new ArrayList<>(pins.entrySet())) authenticate(login.getKey(), login.getValue());
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
@@ -0,0 +1,223 @@
+package Reference;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for a core banking host: owns the account state and serves ATM terminals
+ * ({@link ATMTerminal}) over a line-based TCP protocol on the loopback interface.
+ * <pre>
+ *   AUTH &lt;req&gt; &lt;account&gt; &lt;pin&gt;                  -> OK &lt;req&gt;
+ *   BAL  &lt;req&gt; &lt;account&gt;                        -> OK &lt;req&gt; &lt;balanceCents&gt;
+ *   DEP  &lt;req&gt; &lt;account&gt; &lt;cents&gt; &lt;token&gt;        -> OK &lt;req&gt; &lt;balanceCents&gt;
+ *   WDR  &lt;req&gt; &lt;account&gt; &lt;cents&gt; &lt;token&gt;        -> OK &lt;req&gt; &lt;balanceCents&gt;
+ *   any failure                                 -> ERR &lt;req&gt; &lt;CODE&gt; &lt;message&gt;
+ * </pre>
+ * Terminals may pipeline: requests on one connection are answered in order, and responses are
+ * flushed only when no further request is already buffered. BAL, DEP and WDR need a prior AUTH
+ * for the account on the same connection.
+ * <p>
+ * DEP and WDR are idempotent per (account, token): the first request applies the change and its
+ * outcome, success or error, is remembered; a retry with the same token gets that outcome again
+ * without touching the balance, so a terminal that lost a response can safely resend.
+ * <p>
+ * Usage: java Reference.CoreBankingHost [--port 7070] [--accounts 10]
+ */
+public class CoreBankingHost {
+    static final int DEMO_PIN = 1234;
+    static final long DEMO_BALANCE_CENTS = 50_000;
+    private static final int MAX_REMEMBERED_TOKENS = 1_000_000;
+
+    private final ATMService atm;
+    private final ServerSocket server;
+    private final ExecutorService connections;
+    private final Map<String, String> outcomes = new ConcurrentHashMap<>();
+    private final Queue<String> outcomeOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+
+    public CoreBankingHost(ATMService atm, int port) throws IOException {
+        this.atm = atm;
+        this.server = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        ExecutorService perTask = ATMHttpServer.virtualThreadExecutor();
+        this.connections = perTask != null ? perTask : Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "core-banking");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 7070;
+        int accounts = 10;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--port") && i + 1 < args.length) port = Integer.parseInt(args[++i]);
+            else if (args[i].equals("--accounts") && i + 1 < args.length) accounts = Integer.parseInt(args[++i]);
+        }
+        ATMService atm = new InMemoryATMService();
+        for (int i = 0; i < accounts; i++) atm.openAccount(DEMO_PIN, DEMO_BALANCE_CENTS);
+        CoreBankingHost host = new CoreBankingHost(atm, port);
+        System.out.printf("Core banking host on port %d with %d demo account(s) from #10001%n", host.getPort(), accounts);
+        host.serve();
+    }
+
+    /** Accepts terminals on a background thread. */
+    public void start() {
+        Thread acceptor = new Thread(this::serve, "core-banking-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public void stop() throws IOException {
+        server.close();
+        connections.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /** Money-moving requests applied for the first time. */
+    public long getApplied() { return applied.get(); }
+
+    /** Retried requests answered from a remembered outcome. */
+    public long getReplayed() { return replayed.get(); }
+
+    private void serve() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                connections.execute(() -> handle(socket));
+            } catch (IOException e) {
+                if (!server.isClosed()) System.err.println("Accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        Set<Integer> authenticated = new HashSet<>();
+        String source = socket.getInetAddress().getHostAddress(); // not the port: a reconnect is the same source
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                out.write(respond(line, authenticated, source));
+                out.write('\n');
+                if (!in.ready()) out.flush(); // answer a pipelined burst with one write
+            }
+        } catch (SocketException e) {
+            // terminal went away
+        } catch (IOException e) {
+            System.err.println("Terminal connection failed: " + e.getMessage());
+        }
+    }
+
+    private String respond(String line, Set<Integer> authenticated, String source) {
+        String[] f = line.trim().split(" ");
+        String req = f.length > 1 ? f[1] : "-";
+        try {
+            switch (f[0]) {
+                case "AUTH" -> {
+                    expect(f, 4);
+                    int account = Integer.parseInt(f[2]);
+                    atm.authenticate(account, Integer.parseInt(f[3]), source);
+                    authenticated.add(account);
+                    return "OK " + req;
+                }
+                case "BAL" -> {
+                    expect(f, 3);
+                    return "OK " + req + " " + atm.getBalance(session(f[2], authenticated));
+                }
+                case "DEP", "WDR" -> {
+                    expect(f, 5);
+                    ATMAccount acc = session(f[2], authenticated);
+                    long cents = Long.parseLong(f[3]);
+                    boolean deposit = f[0].equals("DEP");
+                    return "OK " + req + " " + once(acc, f[4], () -> deposit ? atm.deposit(acc, cents) : atm.withdraw(acc, cents));
+                }
+                default -> {
+                    return "ERR " + req + " BAD_REQUEST Unknown command";
+                }
+            }
+        } catch (InvalidPINException e) {
+            return "ERR " + req + " AUTH " + e.getMessage();
+        } catch (TooManyAttemptsException e) {
+            return "ERR " + req + " THROTTLED " + e.getMessage();
+        } catch (OutcomeException e) {
+            return "ERR " + req + " " + e.getMessage();
+        } catch (IllegalArgumentException e) {
+            return "ERR " + req + " BAD_REQUEST " + e.getMessage();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Mutation {
+        long apply() throws InsufficientFundsException;
+    }
+
+    /**
+     * Applies {@code mutation} the first time {@code token} is seen for this account and returns
+     * its result; later calls with the same token return the remembered result. Failures are
+     * remembered too and rethrown as {@link OutcomeException}.
+     */
+    private String once(ATMAccount acc, String token, Mutation mutation) throws OutcomeException {
+        String key = acc.getAccountNumber() + ":" + token;
+        boolean[] ran = new boolean[1];
+        // computeIfAbsent runs the mutation at most once per key, even if two retries race
+        String outcome = outcomes.computeIfAbsent(key, k -> {
+            ran[0] = true;
+            try {
+                return String.valueOf(mutation.apply());
+            } catch (InsufficientFundsException e) {
+                return "!FUNDS " + e.getMessage();
+            } catch (IllegalArgumentException | ArithmeticException e) {
+                return "!BAD_REQUEST " + e.getMessage();
+            }
+        });
+        if (ran[0]) {
+            applied.incrementAndGet();
+            outcomeOrder.add(key);
+            if (outcomes.size() > MAX_REMEMBERED_TOKENS) {
+                String oldest = outcomeOrder.poll();
+                if (oldest != null) outcomes.remove(oldest);
+            }
+        } else {
+            replayed.incrementAndGet();
+        }
+        if (outcome.startsWith("!")) throw new OutcomeException(outcome.substring(1));
+        return outcome;
+    }
+
+    private ATMAccount session(String account, Set<Integer> authenticated) throws InvalidPINException {
+        int number = Integer.parseInt(account);
+        ATMAccount acc = authenticated.contains(number) ? atm.findAccount(number) : null;
+        if (acc == null) throw new InvalidPINException("Not authenticated for account " + number);
+        return acc;
+    }
+
+    private static void expect(String[] fields, int count) {
+        if (fields.length != count) throw new IllegalArgumentException("Expected " + (count - 2) + " arguments");
+    }
+}
+
+/** A remembered failure of an idempotent request; the message is "CODE text". */
+class OutcomeException extends Exception { public OutcomeException(String m){super(m);} }
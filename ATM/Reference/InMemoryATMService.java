@@ -0,0 +1,75 @@
+package Reference;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ATMService} holding accounts in memory, indexed by account number.
+ * Thread-safe: {@link ATMAccount} synchronizes its own updates.
+ */
+public class InMemoryATMService implements ATMService {
+
+    private final Map<Integer, ATMAccount> accounts = new ConcurrentHashMap<>();
+    private final int historyCapacity;
+    private final PinThrottle throttle;
+
+    public InMemoryATMService() {
+        this(ATMAccount.DEFAULT_HISTORY_CAPACITY);
+    }
+
+    /** @param historyCapacity how many recent transactions each account retains */
+    public InMemoryATMService(int historyCapacity) {
+        this(historyCapacity, new PinThrottle());
+    }
+
+    public InMemoryATMService(int historyCapacity, PinThrottle throttle) {
+        this.historyCapacity = historyCapacity;
+        this.throttle = throttle;
+    }
+
+    @Override
+    public ATMAccount openAccount(int pin, long initialCents) {
+        ATMAccount acc = new ATMAccount(pin, initialCents, historyCapacity);
+        accounts.put(acc.getAccountNumber(), acc);
+        return acc;
+    }
+
+    @Override
+    public ATMAccount findAccount(int accountNumber) {
+        return accounts.get(accountNumber);
+    }
+
+    @Override
+    public ATMAccount authenticate(int accountNumber, int pin, String source)
+            throws InvalidPINException, TooManyAttemptsException {
+        throttle.acquire(accountNumber, source);
+        ATMAccount acc = accounts.get(accountNumber);
+        // same message for unknown accounts so callers cannot probe which numbers exist
+        if (acc == null || !acc.authenticate(pin)) {
+            throttle.recordFailure(accountNumber, source);
+            throw new InvalidPINException("Wrong PIN");
+        }
+        throttle.recordSuccess(accountNumber, source);
+        return acc;
+    }
+
+    @Override
+    public long getBalance(ATMAccount acc) {
+        return acc.getBalanceCents();
+    }
+
+    @Override
+    public long deposit(ATMAccount acc, long cents) {
+        return acc.deposit(cents);
+    }
+
+    @Override
+    public long withdraw(ATMAccount acc, long cents) throws InsufficientFundsException {
+        return acc.withdraw(cents);
+    }
+
+    @Override
+    public List<String> getHistory(ATMAccount acc) {
+        return acc.getHistory();
+    }
+}
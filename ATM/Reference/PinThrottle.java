@@ -0,0 +1,189 @@
+package Reference;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits PIN attempts per account and per source (terminal, IP address).
+ * <p>
+ * Each key has a token bucket, kept as a single "theoretical arrival time" so that taking a token
+ * is one CAS, plus a count of consecutive failures; reaching {@link Policy#maxFailures()} locks
+ * the key for {@link Policy#lockout()}. A successful login returns its token and clears the count,
+ * so only failed guesses drain the bucket, and failures older than the lockout period are
+ * forgotten. Once more than 100,000 keys are tracked, keys with nothing left to enforce are
+ * swept out at most once a second. There is no global lock: keys live in ConcurrentHashMaps
+ * and all per-key state is atomics.
+ */
+public class PinThrottle {
+
+    /** Limits for one kind of key. */
+    public record Policy(int burst, Duration refill, int maxFailures, Duration lockout) {
+        public Policy {
+            if (burst < 1 || maxFailures < 1) throw new IllegalArgumentException("Burst and max failures must be positive");
+            if (refill.isNegative() || refill.isZero()) throw new IllegalArgumentException("Refill interval must be positive");
+        }
+    }
+
+    /** 5 attempts, one more every 30 s; 5 wrong PINs in a row lock the account for 15 minutes. */
+    public static final Policy ACCOUNT_DEFAULT = new Policy(5, Duration.ofSeconds(30), 5, Duration.ofMinutes(15));
+    /** 20 attempts, one more per second; 20 wrong PINs in a row lock the source for 5 minutes. */
+    public static final Policy SOURCE_DEFAULT = new Policy(20, Duration.ofSeconds(1), 20, Duration.ofMinutes(5));
+
+    private static final int MAX_TRACKED_KEYS = 100_000;
+    private static final long SWEEP_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final Policy accountPolicy;
+    private final Policy sourcePolicy;
+    private final LongSupplier clock;
+    private final long origin;
+    private final Map<Integer, Limiter> accounts = new ConcurrentHashMap<>();
+    private final Map<String, Limiter> sources = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    public PinThrottle() {
+        this(ACCOUNT_DEFAULT, SOURCE_DEFAULT, System::nanoTime);
+    }
+
+    /** @param clock nanosecond time source, e.g. {@code System::nanoTime} */
+    public PinThrottle(Policy accountPolicy, Policy sourcePolicy, LongSupplier clock) {
+        this.accountPolicy = accountPolicy;
+        this.sourcePolicy = sourcePolicy;
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+    }
+
+    /**
+     * Takes one attempt for this account from this source; call {@link #recordSuccess} or
+     * {@link #recordFailure} once the PIN has been checked.
+     */
+    public void acquire(int accountNumber, String source) throws TooManyAttemptsException {
+        long wait = tryAcquire(accountNumber, source);
+        if (wait == 0) return;
+        long seconds = Math.max(1, (wait + 999_999_999) / 1_000_000_000);
+        throw new TooManyAttemptsException("Too many PIN attempts. Try again in " + seconds + " s.", seconds);
+    }
+
+    /**
+     * Non-throwing form of {@link #acquire}, for callers that reject many attempts (an exception
+     * per rejection would make the attack path the expensive one).
+     * Returns 0 if the attempt may go ahead, otherwise nanoseconds until it may be retried.
+     */
+    public long tryAcquire(int accountNumber, String source) {
+        long now = now();
+        Limiter bySource = limiter(sources, source, sourcePolicy, now);
+        long wait = bySource.tryAcquire(now);
+        if (wait != 0) return wait;
+        wait = limiter(accounts, accountNumber, accountPolicy, now).tryAcquire(now);
+        if (wait != 0) bySource.refund();
+        return wait;
+    }
+
+    public void recordSuccess(int accountNumber, String source) {
+        succeeded(accounts.get(accountNumber));
+        succeeded(sources.get(source));
+    }
+
+    public void recordFailure(int accountNumber, String source) {
+        long now = now();
+        Limiter acc = accounts.get(accountNumber);
+        if (acc != null) acc.fail(now);
+        Limiter src = sources.get(source);
+        if (src != null) src.fail(now);
+    }
+
+    /** Number of accounts and sources currently tracked. */
+    public int trackedKeys() {
+        return accounts.size() + sources.size();
+    }
+
+    private static void succeeded(Limiter l) {
+        if (l == null) return;
+        l.failures.set(0);
+        l.refund();
+    }
+
+    private long now() {
+        return clock.getAsLong() - origin; // never negative, unlike raw nanoTime
+    }
+
+    private <K> Limiter limiter(Map<K, Limiter> map, K key, Policy policy, long now) {
+        Limiter l = map.get(key);
+        if (l != null) return l;
+        l = map.computeIfAbsent(key, k -> new Limiter(policy));
+        if (map.size() > MAX_TRACKED_KEYS) evictIdle(now);
+        return l;
+    }
+
+    /**
+     * Drops keys with a full bucket, no lockout and no recent failures, so sprayed sources cannot
+     * grow the maps forever. Runs at most once per sweep interval, on whichever thread finds it due,
+     * so a flood of new keys pays for one pass a second rather than one per key.
+     */
+    private void evictIdle(long now) {
+        long due = nextSweep.get();
+        if (now < due || !nextSweep.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) return;
+        accounts.values().removeIf(l -> l.isIdle(now));
+        sources.values().removeIf(l -> l.isIdle(now));
+    }
+
+    /** Token bucket (as GCRA) plus a failure counter and lockout for one key. */
+    private static final class Limiter {
+        private final long interval;
+        private final long tolerance;
+        private final int maxFailures;
+        private final long lockout;
+        private final AtomicLong tat = new AtomicLong(); // when the bucket will be full again
+        private final AtomicLong lockedUntil = new AtomicLong();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicLong lastFailure = new AtomicLong();
+
+        Limiter(Policy p) {
+            interval = p.refill().toNanos();
+            tolerance = interval * p.burst();
+            maxFailures = p.maxFailures();
+            lockout = p.lockout().toNanos();
+        }
+
+        /** Returns 0 if a token was taken, otherwise nanoseconds until one is available. */
+        long tryAcquire(long now) {
+            long locked = lockedUntil.get();
+            if (now < locked) return locked - now;
+            while (true) {
+                long t = tat.get();
+                long next = Math.max(t, now) + interval;
+                if (next - now > tolerance) return next - now - tolerance;
+                if (tat.compareAndSet(t, next)) return 0;
+            }
+        }
+
+        void refund() {
+            tat.addAndGet(-interval);
+        }
+
+        void fail(long now) {
+            if (now - lastFailure.getAndSet(now) >= lockout) failures.set(0); // earlier failures have lapsed
+            int f = failures.incrementAndGet();
+            if (f >= maxFailures && failures.compareAndSet(f, 0)) lockedUntil.set(now + lockout);
+        }
+
+        boolean isIdle(long now) {
+            return tat.get() <= now && lockedUntil.get() <= now
+                    && (failures.get() == 0 || now - lastFailure.get() >= lockout);
+        }
+    }
+}
+
+class TooManyAttemptsException extends Exception {
+    private final long retryAfterSeconds;
+
+    public TooManyAttemptsException(String m, long retryAfterSeconds) {
+        super(m);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+}
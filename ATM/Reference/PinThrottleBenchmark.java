@@ -0,0 +1,45 @@
+package Reference;
+
+import Common.Bench;
+import java.time.Duration;
+
+/**
+ * Measures {@link PinThrottle} under contention: many threads on one account (a single hot
+ * bucket), threads on separate accounts, and the rejection path of a locked-out account.
+ * Usage: java Reference.PinThrottleBenchmark [maxThreads]
+ */
+public class PinThrottleBenchmark {
+
+    // limits high enough that the policy never interferes with the cost being measured
+    private static final PinThrottle.Policy UNLIMITED = new PinThrottle.Policy(1 << 30, Duration.ofMillis(1), 1 << 30, Duration.ofMinutes(1));
+
+    public static void main(String[] args) throws InterruptedException {
+        Bench.threadHeader();
+        for (int threads : Bench.threads(args)) {
+            PinThrottle shared = new PinThrottle(UNLIMITED, UNLIMITED, System::nanoTime);
+            Bench.measureThreads("attempt, same account+source", threads, t -> {
+                shared.tryAcquire(10001, "10.0.0.1");
+                shared.recordSuccess(10001, "10.0.0.1");
+                return 1;
+            });
+
+            PinThrottle spread = new PinThrottle(UNLIMITED, UNLIMITED, System::nanoTime);
+            String[] sources = new String[threads];
+            for (int i = 0; i < threads; i++) sources[i] = "10.0.0." + i;
+            Bench.measureThreads("attempt, own account+source", threads, t -> {
+                spread.tryAcquire(10001 + t, sources[t]);
+                spread.recordSuccess(10001 + t, sources[t]);
+                return 1;
+            });
+
+            PinThrottle locked = new PinThrottle();
+            for (int i = 0; i < PinThrottle.ACCOUNT_DEFAULT.maxFailures(); i++) {
+                locked.tryAcquire(10001, "attacker");
+                locked.recordFailure(10001, "attacker");
+            }
+            Bench.measureThreads("rejected, locked account", threads, t -> locked.tryAcquire(10001, sources[t]) > 0 ? 1 : 0);
+        }
+        ATMAccount acc = new ATMAccount(1234, 0);
+        Bench.measureThreads("ATMAccount.authenticate (SHA-256)", 1, t -> acc.authenticate(4321) ? 0 : 1);
+    }
+}
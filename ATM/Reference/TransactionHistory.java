@@ -0,0 +1,111 @@
+package Reference;
+
+import Common.Money;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed-capacity log of an account's most recent transactions.
+ * Records are kept as primitives in parallel ring-buffer arrays (time, type, amount, balance),
+ * so recording is allocation-free and memory stays bounded however long the account lives;
+ * once full, the oldest record is overwritten. Text is produced only by {@link #format()}.
+ * Not thread-safe: {@link ATMAccount} guards it with its own lock.
+ */
+public class TransactionHistory {
+    static final byte OPEN = 0;
+    static final byte DEPOSIT = 1;
+    static final byte WITHDRAW = 2;
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
+    private final int capacity;
+    private long[] times;
+    private byte[] types;
+    private long[] amounts;
+    private long[] balances;
+    private int next;     // slot for the next record
+    private int size;     // records held, at most capacity
+    private long recorded; // records ever added, including overwritten ones
+
+    public TransactionHistory(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("History capacity must be positive");
+        this.capacity = capacity;
+        int initial = Math.min(capacity, INITIAL_CAPACITY); // most accounts never fill the buffer
+        times = new long[initial];
+        types = new byte[initial];
+        amounts = new long[initial];
+        balances = new long[initial];
+    }
+
+    private TransactionHistory(TransactionHistory from) {
+        capacity = from.capacity;
+        times = from.times.clone();
+        types = from.types.clone();
+        amounts = from.amounts.clone();
+        balances = from.balances.clone();
+        next = from.next;
+        size = from.size;
+        recorded = from.recorded;
+    }
+
+    void record(byte type, long amountCents, long balanceCents) {
+        if (size == times.length && size < capacity) grow();
+        times[next] = System.currentTimeMillis();
+        types[next] = type;
+        amounts[next] = amountCents;
+        balances[next] = balanceCents;
+        next = next + 1 == times.length ? 0 : next + 1;
+        if (size < times.length) size++;
+        recorded++;
+    }
+
+    /** Doubles the arrays, up to the capacity; only called before anything has been overwritten. */
+    private void grow() {
+        next = times.length; // records still sit in slots 0..length-1, in order
+        int length = Math.min(capacity, times.length * 2);
+        times = Arrays.copyOf(times, length);
+        types = Arrays.copyOf(types, length);
+        amounts = Arrays.copyOf(amounts, length);
+        balances = Arrays.copyOf(balances, length);
+    }
+
+    public int getCapacity() { return capacity; }
+
+    public int size() { return size; }
+
+    /** Transactions recorded over the account's lifetime, including ones no longer retained. */
+    public long getRecorded() { return recorded; }
+
+    /** An independent copy, so callers can format it without holding the account's lock. */
+    TransactionHistory copy() {
+        return new TransactionHistory(this);
+    }
+
+    /** Renders the retained records, oldest first. */
+    public List<String> format() {
+        List<String> lines = new ArrayList<>(size + 1);
+        if (recorded > size) lines.add("(" + (recorded - size) + " earlier transactions not retained)");
+        int first = size < times.length ? 0 : next;
+        StringBuilder sb = new StringBuilder(64);
+        for (int i = 0; i < size; i++) {
+            int slot = (first + i) % times.length;
+            sb.setLength(0);
+            sb.append(TIME.format(Instant.ofEpochMilli(times[slot]))).append(" | ");
+            switch (types[slot]) {
+                case OPEN -> sb.append("Account created with balance ").append(Money.formatCents(balances[slot]));
+                case DEPOSIT -> sb.append("Deposit ").append(Money.formatCents(amounts[slot]))
+                        .append(" | New balance ").append(Money.formatCents(balances[slot]));
+                default -> sb.append("Withdraw ").append(Money.formatCents(amounts[slot]))
+                        .append(" | New balance ").append(Money.formatCents(balances[slot]));
+            }
+            lines.add(sb.toString());
+        }
+        return lines;
+    }
+}
@@ -1,19 +1,36 @@
 package BankAccount;
+
+import Common.Money;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Simple Account class representing a bank account.
+ * Safe to share between threads: balance updates lock only this account,
+ * and reads of the balance never block.
+ * Money is held as a whole number of cents so balances never drift.
  */
 public class Account {
-    private static int NEXT_ACC_NUMBER = 1001; // starting account number
+    private static final AtomicInteger NEXT_ACC_NUMBER = new AtomicInteger(1001); // starting account number
 
     private final int accountNumber;
-    private String holderName;
-    private double balance;
+    private volatile String holderName;
+    private volatile long balanceCents; // written only while holding this account's monitor
+    long journalSeq; // last journal record applied to this account, guarded by this account's monitor
+
+    public Account(String holderName, long initialCents) {
+        if (initialCents < 0) throw new IllegalArgumentException("Initial balance cannot be negative.");
+        this.accountNumber = NEXT_ACC_NUMBER.getAndIncrement();
+        this.holderName = holderName;
+        this.balanceCents = initialCents;
+    }
 
-    public Account(String holderName, double initialBalance) {
-        if (initialBalance < 0) throw new IllegalArgumentException("Initial balance cannot be negative.");
-        this.accountNumber = NEXT_ACC_NUMBER++;
+    /** Restores an account with a known number, e.g. from a journal or snapshot. */
+    Account(int accountNumber, String holderName, long balanceCents, long journalSeq) {
+        this.accountNumber = accountNumber;
         this.holderName = holderName;
-        this.balance = initialBalance;
+        this.balanceCents = balanceCents;
+        this.journalSeq = journalSeq;
+        NEXT_ACC_NUMBER.accumulateAndGet(accountNumber + 1, Math::max);
     }
 
     public int getAccountNumber() {
@@ -28,24 +45,61 @@ public class Account {
         this.holderName = holderName;
     }
 
-    public double getBalance() {
-        return balance;
+    public long getBalanceCents() {
+        return balanceCents;
+    }
+
+    /** Adds {@code cents} and returns the new balance. */
+    public synchronized long deposit(long cents) {
+        if (cents <= 0) throw new IllegalArgumentException("Deposit amount must be positive.");
+        balanceCents = Math.addExact(balanceCents, cents);
+        return balanceCents;
+    }
+
+    /** Takes out {@code cents} and returns the new balance. */
+    public synchronized long withdraw(long cents) throws InsufficientFundsException {
+        if (cents <= 0) throw new IllegalArgumentException("Withdrawal amount must be positive.");
+        if (cents > balanceCents) throw new InsufficientFundsException("Insufficient funds.");
+        balanceCents -= cents;
+        return balanceCents;
     }
 
-    public void deposit(double amount) {
-        if (amount <= 0) throw new IllegalArgumentException("Deposit amount must be positive.");
-        balance += amount;
+    /** Applies a journaled balance change without the overdraft check; used only during recovery. */
+    synchronized void replay(long deltaCents, long seq) {
+        balanceCents += deltaCents;
+        journalSeq = seq;
     }
 
-    public void withdraw(double amount) throws InsufficientFundsException {
-        if (amount <= 0) throw new IllegalArgumentException("Withdrawal amount must be positive.");
-        if (amount > balance) throw new InsufficientFundsException("Insufficient funds.");
-        balance -= amount;
+    /**
+     * Moves {@code cents} from one account to another as a single atomic step.
+     * Both monitors are taken in account-number order, so concurrent transfers
+     * in opposite directions can never deadlock.
+     */
+    public static void transfer(Account from, Account to, long cents) throws InsufficientFundsException {
+        if (cents <= 0) throw new IllegalArgumentException("Transfer amount must be positive.");
+        if (from == to) throw new IllegalArgumentException("Cannot transfer to the same account.");
+        Account first = from.accountNumber < to.accountNumber ? from : to;
+        Account second = first == from ? to : from;
+        synchronized (first) {
+            synchronized (second) {
+                if (cents > from.balanceCents) throw new InsufficientFundsException("Insufficient funds.");
+                to.deposit(cents); // throws on overflow before either balance has changed
+                from.withdraw(cents);
+            }
+        }
     }
 
     @Override
     public String toString() {
-        return String.format("Account #%d | %s | Balance: %.2f", accountNumber, holderName, balance);
+        StringBuilder sb = new StringBuilder(48);
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    /** Appends the same text as {@link #toString()}, for bulk listings. */
+    public void appendTo(StringBuilder sb) {
+        sb.append("Account #").append(accountNumber).append(" | ").append(holderName).append(" | Balance: ");
+        Money.appendCents(sb, balanceCents);
     }
 }
 
@@ -57,3 +111,12 @@ class InsufficientFundsException extends Exception {
         super(message);
     }
 }
+
+/**
+ * Custom exception for an unknown account number.
+ */
+class AccountNotFoundException extends Exception {
+    public AccountNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,556 @@
+package BankAccount;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Durable, append-only journal of account events with crash recovery.
+ * <p>
+ * Every create, deposit, withdraw and transfer is appended as a checksummed binary record
+ * while the affected accounts are locked, and the call returns only once the record is on disk.
+ * Concurrent callers share fsyncs (group commit): whoever finds no flush in progress becomes
+ * the leader and forces every record buffered so far, while later records pile up in a second
+ * buffer for the next leader.
+ * <p>
+ * Every {@code snapshotInterval} records a background snapshot of all balances is written and
+ * the journal rolls over to a new segment, so recovery loads the snapshot and replays only the
+ * tail. Each account remembers the sequence number of the last record applied to it, which lets
+ * snapshots run without pausing the bank: replay skips records the snapshot already contains.
+ * <p>
+ * A lock file keeps a second journal, in this or another process, from opening the same directory.
+ */
+public class AccountJournal implements Closeable {
+    private static final byte CREATE = 1;
+    private static final byte DEPOSIT = 2;
+    private static final byte WITHDRAW = 3;
+    private static final byte TRANSFER = 4;
+
+    private static final int HEADER_SIZE = 8;          // length + crc
+    private static final int FIXED_PAYLOAD_SIZE = 27;  // type, seq, account, other account, cents, name length
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int SNAPSHOT_MAGIC = 0x42414E4B; // "BANK"
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final String LOCK_FILE = "lock";
+
+    private final Path dir;
+    private final AccountRegistry accounts;
+    private final long snapshotInterval;
+    private final FileChannel lockFile;
+
+    // ---- group commit state, guarded by lock ---- //
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer pending = ByteBuffer.allocate(BUFFER_SIZE);
+    private ByteBuffer spare = ByteBuffer.allocate(BUFFER_SIZE);
+    private FileChannel channel;
+    private long segment;
+    private long appendedSeq;
+    private long durableSeq;
+    private boolean flushing;
+    private IOException failure; // once the disk fails nothing more is acknowledged
+
+    private volatile long lastSnapshotSeq;
+    private final Object snapshotLock = new Object();
+    private final AtomicBoolean snapshotScheduled = new AtomicBoolean();
+    private final ExecutorService snapshotter = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "journal-snapshot");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private long recoveredRecords;
+    private long recoveryMillis;
+
+    private AccountJournal(Path dir, AccountRegistry accounts, long snapshotInterval, FileChannel lockFile) {
+        this.dir = dir;
+        this.accounts = accounts;
+        this.snapshotInterval = snapshotInterval;
+        this.lockFile = lockFile;
+    }
+
+    /**
+     * Opens (or creates) the journal in {@code dir}, restoring the latest snapshot and
+     * replaying newer records into {@code accounts}, which should be empty.
+     *
+     * @throws IOException if another open journal holds the directory's lock file
+     */
+    public static AccountJournal open(Path dir, AccountRegistry accounts, long snapshotInterval) throws IOException {
+        if (snapshotInterval <= 0) throw new IllegalArgumentException("Snapshot interval must be positive.");
+        Files.createDirectories(dir);
+        FileChannel lockFile = lockDirectory(dir);
+        try {
+            AccountJournal journal = new AccountJournal(dir, accounts, snapshotInterval, lockFile);
+            journal.recover();
+            if (journal.recoveredRecords >= snapshotInterval) journal.snapshot(); // keep the next recovery short
+            return journal;
+        } catch (IOException | RuntimeException e) {
+            lockFile.close();
+            throw e;
+        }
+    }
+
+    private static FileChannel lockDirectory(Path dir) throws IOException {
+        FileChannel file = FileChannel.open(dir.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock held;
+        try {
+            held = file.tryLock();
+        } catch (OverlappingFileLockException e) {
+            held = null; // locked by another journal in this JVM
+        }
+        if (held == null) {
+            file.close();
+            throw new IOException("Journal directory is already open: " + dir);
+        }
+        return file; // closing the channel releases the lock
+    }
+
+    public long getRecoveredRecords() {
+        return recoveredRecords;
+    }
+
+    public long getRecoveryMillis() {
+        return recoveryMillis;
+    }
+
+    // ---- journaled operations ---- //
+
+    public Account createAccount(String holderName, long initialCents) throws IOException {
+        Account acc = new Account(holderName, initialCents);
+        commit(logCreate(acc));
+        return acc;
+    }
+
+    /** Deposits and journals {@code cents}; returns the balance the deposit left, once it is durable. */
+    public long deposit(Account acc, long cents) throws IOException {
+        long seq;
+        long balance;
+        synchronized (acc) {
+            seq = logDeposit(acc, cents);
+            balance = acc.getBalanceCents();
+        }
+        commit(seq);
+        return balance;
+    }
+
+    /** Withdraws and journals {@code cents}; returns the balance the withdrawal left, once it is durable. */
+    public long withdraw(Account acc, long cents) throws IOException, InsufficientFundsException {
+        long seq;
+        long balance;
+        synchronized (acc) {
+            seq = logWithdraw(acc, cents);
+            balance = acc.getBalanceCents();
+        }
+        commit(seq);
+        return balance;
+    }
+
+    public void transfer(Account from, Account to, long cents) throws IOException, InsufficientFundsException {
+        commit(logTransfer(from, to, cents));
+    }
+
+    // The log* methods apply and journal an operation without waiting for the disk. Batch callers
+    // run many of them and then call commit once with the last sequence number.
+
+    long logCreate(Account acc) throws IOException {
+        byte[] name = acc.getHolderName().getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_NAME_BYTES) throw new IllegalArgumentException("Holder name is too long.");
+        checkHealthy();
+        synchronized (acc) {
+            accounts.add(acc);
+            long seq = append(CREATE, acc.getAccountNumber(), 0, acc.getBalanceCents(), name);
+            acc.journalSeq = seq;
+            return seq;
+        }
+    }
+
+    long logDeposit(Account acc, long cents) throws IOException {
+        checkHealthy();
+        synchronized (acc) {
+            acc.deposit(cents);
+            long seq = append(DEPOSIT, acc.getAccountNumber(), 0, cents, null);
+            acc.journalSeq = seq;
+            return seq;
+        }
+    }
+
+    long logWithdraw(Account acc, long cents) throws IOException, InsufficientFundsException {
+        checkHealthy();
+        synchronized (acc) {
+            acc.withdraw(cents);
+            long seq = append(WITHDRAW, acc.getAccountNumber(), 0, cents, null);
+            acc.journalSeq = seq;
+            return seq;
+        }
+    }
+
+    long logTransfer(Account from, Account to, long cents) throws IOException, InsufficientFundsException {
+        checkHealthy();
+        // same lock order as Account.transfer, which re-enters these monitors
+        Account first = from.getAccountNumber() < to.getAccountNumber() ? from : to;
+        Account second = first == from ? to : from;
+        synchronized (first) {
+            synchronized (second) {
+                Account.transfer(from, to, cents);
+                long seq = append(TRANSFER, from.getAccountNumber(), to.getAccountNumber(), cents, null);
+                from.journalSeq = seq;
+                to.journalSeq = seq;
+                return seq;
+            }
+        }
+    }
+
+    // ---- group commit ---- //
+
+    private long append(byte type, int account, int other, long cents, byte[] name) throws IOException {
+        int payload = FIXED_PAYLOAD_SIZE + (name == null ? 0 : name.length);
+        lock.lock();
+        try {
+            while (pending.remaining() < HEADER_SIZE + payload) {
+                checkHealthyLocked();
+                if (flushing) flushed.awaitUninterruptibly();
+                else flushAsLeader();
+            }
+            long seq = ++appendedSeq;
+            int start = pending.position();
+            pending.putInt(payload).putInt(0);
+            pending.put(type).putLong(seq).putInt(account).putInt(other).putLong(cents)
+                    .putShort((short) (name == null ? 0 : name.length));
+            if (name != null) pending.put(name);
+            crc.reset();
+            crc.update(pending.array(), start + HEADER_SIZE, payload);
+            pending.putInt(start + 4, (int) crc.getValue());
+            return seq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Blocks until record {@code seq} is on disk, then schedules a snapshot if one is due. */
+    void commit(long seq) throws IOException {
+        lock.lock();
+        try {
+            while (durableSeq < seq) {
+                checkHealthyLocked();
+                if (flushing) flushed.awaitUninterruptibly();
+                else flushAsLeader();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (seq - lastSnapshotSeq >= snapshotInterval && snapshotScheduled.compareAndSet(false, true)) {
+            snapshotter.execute(() -> {
+                try {
+                    snapshot();
+                } catch (IOException e) {
+                    System.err.println("Snapshot failed: " + e.getMessage());
+                } finally {
+                    snapshotScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes and forces everything buffered so far. Called with the lock held and no flush
+     * in progress; the lock is released during I/O so other threads keep appending.
+     */
+    private void flushAsLeader() {
+        flushing = true;
+        ByteBuffer batch = pending;
+        pending = spare;
+        spare = batch;
+        long target = appendedSeq;
+        FileChannel out = channel;
+        lock.unlock();
+        IOException error = null;
+        try {
+            batch.flip();
+            while (batch.hasRemaining()) out.write(batch);
+            out.force(false);
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            batch.clear();
+            lock.lock();
+        }
+        if (error != null) failure = error;
+        else durableSeq = target;
+        flushing = false;
+        flushed.signalAll();
+    }
+
+    private void checkHealthy() throws IOException {
+        lock.lock();
+        try {
+            checkHealthyLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkHealthyLocked() throws IOException {
+        if (failure != null) throw new IOException("Journal unavailable: " + failure.getMessage(), failure);
+        if (channel == null) throw new IOException("Journal is closed.");
+    }
+
+    // ---- snapshots ---- //
+
+    /** Writes a snapshot of every account and drops journal segments it makes redundant. */
+    public void snapshot() throws IOException {
+        synchronized (snapshotLock) {
+            long replayFrom = rotate();
+            Path tmp = dir.resolve(SNAPSHOT_FILE + ".tmp");
+            try (FileChannel file = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                CheckedOutputStream checked = new CheckedOutputStream(Channels.newOutputStream(file), new CRC32());
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked, 1 << 16));
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeLong(replayFrom);
+                for (Account acc : accounts) {
+                    long balance;
+                    long seq;
+                    String name;
+                    synchronized (acc) {
+                        balance = acc.getBalanceCents();
+                        seq = acc.journalSeq;
+                        name = acc.getHolderName();
+                    }
+                    out.writeInt(acc.getAccountNumber());
+                    out.writeLong(seq);
+                    out.writeLong(balance);
+                    out.writeUTF(name);
+                }
+                out.writeInt(0); // end marker, account numbers are never 0
+                out.flush();
+                out.writeLong(checked.getChecksum().getValue());
+                out.flush();
+                file.force(true);
+            }
+            Files.move(tmp, dir.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            for (Path old : segmentsFrom(0)) {
+                if (segmentNumber(old) < replayFrom) Files.delete(old);
+            }
+        }
+    }
+
+    /** Flushes the current segment and starts a new one; returns the new segment number. */
+    private long rotate() throws IOException {
+        lock.lock();
+        try {
+            while (flushing || pending.position() > 0) {
+                checkHealthyLocked();
+                if (flushing) flushed.awaitUninterruptibly();
+                else flushAsLeader();
+            }
+            checkHealthyLocked();
+            channel.close();
+            segment++;
+            channel = openSegment(segment);
+            lastSnapshotSeq = appendedSeq;
+            return segment;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Takes a final snapshot so the next start replays nothing, then closes the journal. */
+    @Override
+    public void close() throws IOException {
+        try {
+            snapshot();
+        } finally {
+            snapshotter.shutdown();
+            try {
+                snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            lock.lock();
+            try {
+                if (channel != null) channel.close();
+                channel = null;
+            } finally {
+                lock.unlock();
+                lockFile.close();
+            }
+        }
+    }
+
+    /**
+     * Drops the journal the way a crash would: nothing buffered is flushed and no final snapshot
+     * is taken. A snapshot already running is let finish before the directory lock is released,
+     * so a journal reopened on the same directory never races it. For recovery tests.
+     */
+    void abandon() throws IOException {
+        snapshotter.shutdown();
+        try {
+            snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            while (flushing) flushed.awaitUninterruptibly();
+            if (channel != null) channel.close();
+            channel = null; // later appends fail as closed
+        } finally {
+            lock.unlock();
+            lockFile.close();
+        }
+    }
+
+    // ---- recovery ---- //
+
+    private void recover() throws IOException {
+        long start = System.nanoTime();
+        long replayFrom = loadSnapshot();
+        long last = replayFrom;
+        for (Path file : segmentsFrom(replayFrom)) {
+            replaySegment(file);
+            last = Math.max(last, segmentNumber(file));
+        }
+        for (Account acc : accounts) {
+            appendedSeq = Math.max(appendedSeq, acc.journalSeq);
+        }
+        durableSeq = appendedSeq;
+        lastSnapshotSeq = appendedSeq;
+        segment = last + 1; // never append after a possibly torn tail
+        channel = openSegment(segment);
+        recoveryMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /** Restores accounts from the snapshot, if any, and returns the first segment to replay. */
+    private long loadSnapshot() throws IOException {
+        Path file = dir.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(file)) return 0;
+        try (InputStream raw = Files.newInputStream(file)) {
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(raw, 1 << 16), new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != SNAPSHOT_MAGIC) throw new IOException("Not a bank snapshot: " + file);
+            long replayFrom = in.readLong();
+            List<Account> restored = new ArrayList<>();
+            for (int number = in.readInt(); number != 0; number = in.readInt()) {
+                long seq = in.readLong();
+                long balance = in.readLong();
+                restored.add(new Account(number, in.readUTF(), balance, seq));
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) throw new IOException("Snapshot checksum mismatch: " + file);
+            for (Account acc : restored) accounts.add(acc);
+            return replayFrom;
+        }
+    }
+
+    /** Applies every intact record in {@code file} and cuts off a torn or corrupt tail. */
+    private void replaySegment(Path file) throws IOException {
+        long good = 0;
+        byte[] buf = new byte[256];
+        CRC32 check = new CRC32();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            while (true) {
+                int length;
+                int expected;
+                try {
+                    length = in.readInt();
+                    expected = in.readInt();
+                    if (length < FIXED_PAYLOAD_SIZE || length > FIXED_PAYLOAD_SIZE + MAX_NAME_BYTES) break;
+                    if (buf.length < length) buf = new byte[length];
+                    in.readFully(buf, 0, length);
+                } catch (EOFException e) {
+                    break;
+                }
+                check.reset();
+                check.update(buf, 0, length);
+                if ((int) check.getValue() != expected) break;
+                apply(ByteBuffer.wrap(buf, 0, length));
+                recoveredRecords++;
+                good += HEADER_SIZE + length;
+            }
+        }
+        if (good < Files.size(file)) {
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ch.truncate(good);
+            }
+        }
+    }
+
+    private void apply(ByteBuffer record) {
+        byte type = record.get();
+        long seq = record.getLong();
+        int number = record.getInt();
+        int other = record.getInt();
+        long cents = record.getLong();
+        int nameLength = record.getShort() & 0xFFFF;
+        switch (type) {
+            case CREATE -> {
+                if (accounts.get(number) == null) {
+                    String name = new String(record.array(), record.position(), nameLength, StandardCharsets.UTF_8);
+                    accounts.add(new Account(number, name, cents, seq));
+                }
+            }
+            case DEPOSIT -> replay(number, cents, seq);
+            case WITHDRAW -> replay(number, -cents, seq);
+            case TRANSFER -> {
+                replay(number, -cents, seq);
+                replay(other, cents, seq);
+            }
+            default -> throw new IllegalStateException("Unknown journal record type " + type);
+        }
+    }
+
+    private void replay(int number, long deltaCents, long seq) {
+        Account acc = accounts.get(number);
+        if (acc != null && seq > acc.journalSeq) acc.replay(deltaCents, seq);
+    }
+
+    // ---- segment files ---- //
+
+    private FileChannel openSegment(long number) throws IOException {
+        return FileChannel.open(dir.resolve("journal-" + number + ".log"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> segmentsFrom(long first) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().matches("journal-\\d+\\.log"))
+                    .filter(p -> segmentNumber(p) >= first)
+                    .sorted((a, b) -> Long.compare(segmentNumber(a), segmentNumber(b)))
+                    .toList();
+        }
+    }
+
+    private static long segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring("journal-".length(), name.length() - ".log".length()));
+    }
+}
@@ -0,0 +1,168 @@
+package BankAccount;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Account store keyed by account number.
+ * Uses an open-addressing table of primitive int keys (no Integer boxing) for O(1) lookups,
+ * plus an array in creation order so listings stay stable.
+ * Lookups are optimistic and lock-free; only adding an account takes the write lock.
+ */
+public class AccountRegistry implements Iterable<Account> {
+    private static final int EMPTY = 0; // account numbers start at 1001, so 0 is never a real key
+    private static final float LOAD_FACTOR = 0.5f;
+
+    /** Keys and values travel together so a reader never pairs arrays from different resizes. */
+    private static final class Table {
+        final int[] keys;
+        final Account[] values;
+
+        Table(int capacity) {
+            keys = new int[capacity];
+            values = new Account[capacity];
+        }
+    }
+
+    private final StampedLock lock = new StampedLock();
+    private Table table;
+    private Account[] ordered;
+    private int size;
+
+    public AccountRegistry() {
+        this(16);
+    }
+
+    public AccountRegistry(int expectedSize) {
+        int capacity = tableSizeFor((int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR));
+        table = new Table(capacity);
+        ordered = new Account[Math.max(expectedSize, 16)];
+    }
+
+    public void add(Account acc) {
+        int key = acc.getAccountNumber();
+        if (key == EMPTY) throw new IllegalArgumentException("Account number 0 is reserved.");
+        long stamp = lock.writeLock();
+        try {
+            if ((size + 1) > table.keys.length * LOAD_FACTOR) rehash(table.keys.length << 1);
+            int slot = slotOf(key, table.keys);
+            if (table.keys[slot] == key) throw new IllegalArgumentException("Duplicate account number: " + key);
+            table.values[slot] = acc;
+            table.keys[slot] = key;
+            if (size == ordered.length) ordered = Arrays.copyOf(ordered, size << 1);
+            ordered[size++] = acc;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public Account get(int accountNumber) {
+        if (accountNumber == EMPTY) return null;
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Account found = lookup(table, accountNumber);
+            if (lock.validate(stamp)) return found;
+        }
+        stamp = lock.readLock();
+        try {
+            return lookup(table, accountNumber);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /** Iterates over a snapshot of the accounts that existed when iteration started. */
+    @Override
+    public Iterator<Account> iterator() {
+        Account[] snapshot;
+        int count;
+        long stamp = lock.readLock();
+        try {
+            snapshot = ordered;
+            count = size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public Account next() {
+                if (next >= count) throw new NoSuchElementException();
+                return snapshot[next++];
+            }
+        };
+    }
+
+    // ---- table helpers ---- //
+
+    /**
+     * Probes at most one full cycle, so a racing optimistic reader always terminates;
+     * its result is discarded by {@link #get} if a writer interfered.
+     */
+    private static Account lookup(Table t, int key) {
+        int mask = t.keys.length - 1;
+        int slot = mix(key) & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            int k = t.keys[slot];
+            if (k == key) return t.values[slot];
+            if (k == EMPTY) return null;
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /** Returns the slot holding {@code key}, or the empty slot where it would be inserted. */
+    private static int slotOf(int key, int[] table) {
+        int mask = table.length - 1;
+        int slot = mix(key) & mask;
+        while (table[slot] != EMPTY && table[slot] != key) {
+            slot = (slot + 1) & mask; // linear probing
+        }
+        return slot;
+    }
+
+    private void rehash(int newCapacity) {
+        Table old = table;
+        Table grown = new Table(newCapacity);
+        for (int i = 0; i < old.keys.length; i++) {
+            if (old.keys[i] != EMPTY) {
+                int slot = slotOf(old.keys[i], grown.keys);
+                grown.keys[slot] = old.keys[i];
+                grown.values[slot] = old.values[i];
+            }
+        }
+        table = grown;
+    }
+
+    /** Spreads sequential account numbers across the table. */
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int n) {
+        int cap = Integer.highestOneBit(Math.max(n - 1, 1)) << 1;
+        return Math.max(cap, 16);
+    }
+}
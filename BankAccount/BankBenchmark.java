@@ -0,0 +1,34 @@
+package BankAccount;
+
+import Common.Bench;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Micro-benchmarks for the bank's hot paths at growing data sizes.
+ * Usage: java BankAccount.BankBenchmark [maxSize]
+ */
+public class BankBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        Bench.header();
+        BankService bank = new InMemoryBankService(new AccountRegistry());
+        int[] numbers = new int[0];
+        for (int size : Bench.sizes(args)) {
+            int created = numbers.length;
+            numbers = Arrays.copyOf(numbers, size);
+            for (int i = created; i < size; i++) {
+                numbers[i] = bank.createAccount("Bench", 10_000).getAccountNumber();
+            }
+            int[] keys = numbers;
+            Bench.measure("BankService.findAccount", size,
+                    () -> bank.findAccount(keys[ThreadLocalRandom.current().nextInt(keys.length)]).getBalanceCents());
+            Bench.measure("listAccounts via println", size, () -> {
+                bank.listAccounts().forEach(Bench.NULL_OUT::println);
+                return 0;
+            });
+            Bench.measure("listAccounts via ListRenderer", size, () -> Bench.nullRenderer().render(bank.listAccounts(), Account::appendTo));
+        }
+    }
+}
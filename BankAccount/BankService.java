@@ -0,0 +1,32 @@
+package BankAccount;
+
+import java.io.IOException;
+
+/**
+ * Operations of the bank, independent of any console I/O.
+ * Implementations are safe to call from many threads at once.
+ */
+public interface BankService {
+
+    Account createAccount(String holderName, long initialCents) throws IOException;
+
+    /** Returns the account with this number, or null if there is none. */
+    Account findAccount(int accountNumber);
+
+    /** Deposits and returns the new balance in cents. */
+    long deposit(int accountNumber, long cents) throws AccountNotFoundException, IOException;
+
+    /** Withdraws and returns the new balance in cents. */
+    long withdraw(int accountNumber, long cents)
+            throws AccountNotFoundException, InsufficientFundsException, IOException;
+
+    void transfer(int fromAccount, int toAccount, long cents)
+            throws AccountNotFoundException, InsufficientFundsException, IOException;
+
+    long getBalance(int accountNumber) throws AccountNotFoundException;
+
+    /** All accounts in creation order. */
+    Iterable<Account> listAccounts();
+
+    boolean hasAccounts();
+}
@@ -1,19 +1,47 @@
 package BankAccount;
-import java.util.ArrayList;
-import java.util.List;
+import Common.ListRenderer;
+import Common.Money;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Scanner;
 
 /**
  * Banking Account Manager (CLI)
  * Supports creating accounts, depositing, withdrawing, checking balance, and listing all accounts.
+ * The CLI only handles prompts and output; the operations live in {@link BankService}.
+ * Accounts are journaled to disk (default folder "bank-data", override with --data-dir) and
+ * restored on the next start. Run with --batch FILE to apply a settlement file and exit
+ * (see {@link BatchIngest} for the format).
+ * Listings honour --page-size N and --limit N (see {@link ListRenderer}).
  */
 public class BankingAccountManager {
 
     private static final Scanner SCANNER = new Scanner(System.in);
-    private static final List<Account> ACCOUNTS = new ArrayList<>();
+    private static final AccountRegistry ACCOUNTS = new AccountRegistry();
+    private static final long SNAPSHOT_INTERVAL = 100_000; // journal records between snapshots
 
-    public static void main(String[] args) {
+    private static AccountJournal journal;
+    private static BankService bank;
+    private static ListRenderer renderer;
+
+    public static void main(String[] args) throws IOException {
+        Path dataDir = Path.of("bank-data");
+        Path batchFile = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--data-dir") && i + 1 < args.length) dataDir = Path.of(args[++i]);
+            else if (args[i].equals("--batch") && i + 1 < args.length) batchFile = Path.of(args[++i]);
+        }
+        renderer = ListRenderer.fromArgs(args, SCANNER); // checks its options before the journal is opened
+        journal = AccountJournal.open(dataDir, ACCOUNTS, SNAPSHOT_INTERVAL);
+        bank = new InMemoryBankService(ACCOUNTS, journal);
         System.out.println("===== Banking Account Manager =====");
+        System.out.printf("Restored %d accounts from %s (%d journal records replayed in %d ms)%n",
+                ACCOUNTS.size(), dataDir, journal.getRecoveredRecords(), journal.getRecoveryMillis());
+        if (batchFile != null) {
+            new BatchIngest(ACCOUNTS, journal).ingest(batchFile);
+            journal.close();
+            return;
+        }
         while (true) {
             printMenu();
             int choice = readInt("Choose an option: ");
@@ -23,12 +51,14 @@ public class BankingAccountManager {
                     case 2 -> deposit();
                     case 3 -> withdraw();
                     case 4 -> checkBalance();
-                    case 5 -> listAccounts();
-                    case 6 -> {
+                    case 5 -> transfer();
+                    case 6 -> listAccounts();
+                    case 7 -> {
+                        journal.close();
                         System.out.println("Exiting... Goodbye!");
                         return;
                     }
-                    default -> System.out.println("Invalid choice. Please select 1-6.");
+                    default -> System.out.println("Invalid choice. Please select 1-7.");
                 }
             } catch (Exception e) {
                 System.out.println("Error: " + e.getMessage());
@@ -43,73 +73,78 @@ public class BankingAccountManager {
         System.out.println("2. Deposit");
         System.out.println("3. Withdraw");
         System.out.println("4. Check Balance");
-        System.out.println("5. List All Accounts");
-        System.out.println("6. Exit");
+        System.out.println("5. Transfer");
+        System.out.println("6. List All Accounts");
+        System.out.println("7. Exit");
     }
 
     // ---- Operations ---- //
 
-    private static void createAccount() {
+    private static void createAccount() throws IOException {
         System.out.print("Enter account holder name: ");
         String name = SCANNER.nextLine().trim();
         if (name.isEmpty()) {
             System.out.println("Name cannot be empty.");
             return;
         }
-        double initial = readDouble("Enter initial deposit: ");
-        Account acc = new Account(name, initial);
-        ACCOUNTS.add(acc);
+        long initial = readCents("Enter initial deposit: ");
+        Account acc = bank.createAccount(name, initial);
         System.out.println("Account created: " + acc);
     }
 
-    private static Account findAccount(int accNumber) {
-        return ACCOUNTS.stream()
-                .filter(a -> a.getAccountNumber() == accNumber)
-                .findFirst()
-                .orElse(null);
+    private static void deposit() throws AccountNotFoundException, IOException {
+        int accNum = readInt("Enter account number: ");
+        if (bank.findAccount(accNum) == null) {
+            System.out.println("Account not found.");
+            return;
+        }
+        long amt = readCents("Enter deposit amount: ");
+        System.out.println("New balance: " + Money.formatCents(bank.deposit(accNum, amt)));
     }
 
-    private static void deposit() {
+    private static void withdraw() throws AccountNotFoundException, InsufficientFundsException, IOException {
         int accNum = readInt("Enter account number: ");
-        Account acc = findAccount(accNum);
-        if (acc == null) {
+        if (bank.findAccount(accNum) == null) {
             System.out.println("Account not found.");
             return;
         }
-        double amt = readDouble("Enter deposit amount: ");
-        acc.deposit(amt);
-        System.out.println("New balance: " + acc.getBalance());
+        long amt = readCents("Enter withdrawal amount: ");
+        System.out.println("New balance: " + Money.formatCents(bank.withdraw(accNum, amt)));
     }
 
-    private static void withdraw() throws InsufficientFundsException {
+    private static void checkBalance() throws AccountNotFoundException {
         int accNum = readInt("Enter account number: ");
-        Account acc = findAccount(accNum);
-        if (acc == null) {
+        if (bank.findAccount(accNum) == null) {
             System.out.println("Account not found.");
             return;
         }
-        double amt = readDouble("Enter withdrawal amount: ");
-        acc.withdraw(amt);
-        System.out.println("New balance: " + acc.getBalance());
+        System.out.printf("Balance for #%d: %s%n", accNum, Money.formatCents(bank.getBalance(accNum)));
     }
 
-    private static void checkBalance() {
-        int accNum = readInt("Enter account number: ");
-        Account acc = findAccount(accNum);
-        if (acc == null) {
+    private static void transfer() throws AccountNotFoundException, InsufficientFundsException, IOException {
+        int from = readInt("Transfer from account number: ");
+        if (bank.findAccount(from) == null) {
+            System.out.println("Account not found.");
+            return;
+        }
+        int to = readInt("Transfer to account number: ");
+        if (bank.findAccount(to) == null) {
             System.out.println("Account not found.");
             return;
         }
-        System.out.printf("Balance for #%d: %.2f%n", acc.getAccountNumber(), acc.getBalance());
+        long amt = readCents("Enter transfer amount: ");
+        bank.transfer(from, to, amt);
+        System.out.printf("Transferred %s. #%d: %s | #%d: %s%n", Money.formatCents(amt),
+                from, Money.formatCents(bank.getBalance(from)), to, Money.formatCents(bank.getBalance(to)));
     }
 
     private static void listAccounts() {
-        if (ACCOUNTS.isEmpty()) {
+        if (!bank.hasAccounts()) {
             System.out.println("No accounts available.");
             return;
         }
         System.out.println("\n--- Account List ---");
-        ACCOUNTS.forEach(System.out::println);
+        renderer.render(bank.listAccounts(), Account::appendTo);
     }
 
     // ---- Input helpers ---- //
@@ -126,19 +161,22 @@ public class BankingAccountManager {
         }
     }
 
-    private static double readDouble(String prompt) {
+    /** Reads a non-negative amount with at most two decimal places and returns it in cents. */
+    private static long readCents(String prompt) {
         while (true) {
             System.out.print(prompt);
             try {
                 String line = SCANNER.nextLine();
-                double value = Double.parseDouble(line.trim());
-                if (value < 0) {
+                long cents = Money.parseCents(line);
+                if (cents < 0) {
                     System.out.println("Amount must be non-negative.");
                     continue;
                 }
-                return value;
+                return cents;
             } catch (NumberFormatException e) {
                 System.out.println("Please enter a numeric value.");
+            } catch (ArithmeticException e) {
+                System.out.println("Please use at most two decimal places.");
             }
         }
     }
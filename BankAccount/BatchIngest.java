@@ -0,0 +1,283 @@
+package BankAccount;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Non-interactive ingestion of settlement files into the bank.
+ * <p>
+ * One operation per line; blank lines and lines starting with '#' are skipped:
+ * <pre>
+ *   C,holder name,amount      create account
+ *   D,account,amount          deposit
+ *   W,account,amount          withdraw
+ *   T,from,to,amount          transfer
+ * </pre>
+ * Amounts are decimals with at most two fraction digits; an opening balance may be zero, every
+ * other amount must be positive. The file is streamed through a
+ * fixed NIO buffer and numbers are parsed straight from the bytes, so no per-row Strings are
+ * created (except holder names). Rows are collected into column arrays and applied a batch
+ * at a time with a single journal commit per batch.
+ */
+public class BatchIngest {
+    private static final int BATCH_SIZE = 65_536;
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+    private static final int MAX_SAMPLES = 20;
+    private static final long BAD = Long.MIN_VALUE;
+
+    /** Why a row was not applied. */
+    public enum Rejection {
+        MALFORMED("malformed row"),
+        INVALID_AMOUNT("invalid amount"),
+        UNKNOWN_ACCOUNT("unknown account"),
+        INSUFFICIENT_FUNDS("insufficient funds");
+
+        private final String label;
+
+        Rejection(String label) {
+            this.label = label;
+        }
+    }
+
+    private final AccountRegistry accounts;
+    private final AccountJournal journal;
+
+    // the current batch, stored column-wise
+    private final byte[] ops = new byte[BATCH_SIZE];
+    private final long[] firstAccounts = new long[BATCH_SIZE];
+    private final long[] secondAccounts = new long[BATCH_SIZE];
+    private final long[] amounts = new long[BATCH_SIZE];
+    private final long[] lineNumbers = new long[BATCH_SIZE];
+    private final String[] names = new String[BATCH_SIZE];
+    private int batched;
+
+    private long rows;
+    private long applied;
+    private final long[] rejected = new long[Rejection.values().length];
+    private final List<String> samples = new ArrayList<>();
+
+    public BatchIngest(AccountRegistry accounts, AccountJournal journal) {
+        this.accounts = accounts;
+        this.journal = journal;
+    }
+
+    /** Streams {@code file} into the bank and prints a summary to standard output. */
+    public void ingest(Path file) throws IOException {
+        long start = System.nanoTime();
+        ByteBuffer buf = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        byte[] b = buf.array();
+        long lineNo = 0;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            boolean eof = false;
+            boolean skipping = false; // inside a line too long for the buffer
+            while (!eof) {
+                eof = in.read(buf) < 0;
+                int limit = buf.position();
+                int lineStart = 0;
+                for (int i = 0; i < limit; i++) {
+                    if (b[i] == '\n') {
+                        lineNo++;
+                        if (!skipping) parseLine(b, lineStart, i, lineNo);
+                        skipping = false;
+                        lineStart = i + 1;
+                    }
+                }
+                if (eof && lineStart < limit) {
+                    lineNo++;
+                    if (!skipping) parseLine(b, lineStart, limit, lineNo); // last line without a newline
+                    lineStart = limit;
+                } else if (lineStart == 0 && limit == b.length) {
+                    if (!skipping) {
+                        rows++;
+                        reject(Rejection.MALFORMED, lineNo + 1);
+                    }
+                    skipping = true;
+                    lineStart = limit;
+                }
+                buf.position(lineStart);
+                buf.limit(limit);
+                buf.compact(); // keep the partial last line for the next read
+            }
+        }
+        applyBatch();
+        printReport(file, (System.nanoTime() - start) / 1e9);
+    }
+
+    // ---- parsing ---- //
+
+    private void parseLine(byte[] b, int from, int to, long lineNo) throws IOException {
+        if (to > from && b[to - 1] == '\r') to--;
+        while (from < to && b[from] == ' ') from++;
+        if (from == to || b[from] == '#') return;
+        rows++;
+        byte op = b[from];
+        if (from + 1 >= to || b[from + 1] != ',') {
+            reject(Rejection.MALFORMED, lineNo);
+            return;
+        }
+        int fieldStart = from + 2;
+        int lastComma = lastIndexOf(b, fieldStart, to, (byte) ',');
+        if (lastComma < 0) {
+            reject(Rejection.MALFORMED, lineNo);
+            return;
+        }
+        long cents = parseCents(b, lastComma + 1, to);
+        long first = 0;
+        long second = 0;
+        String name = null;
+        switch (op) {
+            case 'C' -> {
+                name = new String(b, fieldStart, lastComma - fieldStart, StandardCharsets.UTF_8).trim();
+                if (name.isEmpty()) cents = BAD;
+            }
+            case 'D', 'W' -> first = parseNumber(b, fieldStart, lastComma);
+            case 'T' -> {
+                int comma = indexOf(b, fieldStart, lastComma, (byte) ',');
+                if (comma < 0) {
+                    first = BAD;
+                } else {
+                    first = parseNumber(b, fieldStart, comma);
+                    second = parseNumber(b, comma + 1, lastComma);
+                }
+            }
+            default -> first = BAD;
+        }
+        if (cents == BAD || first == BAD || second == BAD) {
+            reject(Rejection.MALFORMED, lineNo);
+            return;
+        }
+        ops[batched] = op;
+        firstAccounts[batched] = first;
+        secondAccounts[batched] = second;
+        amounts[batched] = cents;
+        lineNumbers[batched] = lineNo;
+        names[batched] = name;
+        if (++batched == BATCH_SIZE) applyBatch();
+    }
+
+    /** Parses a non-negative integer, ignoring surrounding spaces; returns BAD on error. */
+    private static long parseNumber(byte[] b, int from, int to) {
+        while (from < to && b[from] == ' ') from++;
+        while (to > from && b[to - 1] == ' ') to--;
+        if (from == to || to - from > 18) return BAD;
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = b[i] - '0';
+            if (digit < 0 || digit > 9) return BAD;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /** Parses a decimal amount with at most two fraction digits into cents; returns BAD on error. */
+    private static long parseCents(byte[] b, int from, int to) {
+        while (from < to && b[from] == ' ') from++;
+        while (to > from && b[to - 1] == ' ') to--;
+        boolean negative = from < to && b[from] == '-';
+        if (negative) from++;
+        int dot = indexOf(b, from, to, (byte) '.');
+        int wholeEnd = dot < 0 ? to : dot;
+        if (wholeEnd == from) return BAD;
+        long whole = parseNumber(b, from, wholeEnd);
+        if (whole == BAD || whole > Long.MAX_VALUE / 100) return BAD;
+        long fraction = 0;
+        if (dot >= 0) {
+            int digits = to - dot - 1;
+            if (digits < 1 || digits > 2) return BAD;
+            fraction = parseNumber(b, dot + 1, to);
+            if (fraction == BAD) return BAD;
+            if (digits == 1) fraction *= 10;
+        }
+        long cents = whole * 100 + fraction;
+        return negative ? -cents : cents;
+    }
+
+    private static int indexOf(byte[] b, int from, int to, byte target) {
+        for (int i = from; i < to; i++) if (b[i] == target) return i;
+        return -1;
+    }
+
+    private static int lastIndexOf(byte[] b, int from, int to, byte target) {
+        for (int i = to - 1; i >= from; i--) if (b[i] == target) return i;
+        return -1;
+    }
+
+    // ---- applying ---- //
+
+    /** Applies the current batch and commits whatever was applied, even if a row fails unexpectedly. */
+    private void applyBatch() throws IOException {
+        long lastSeq = 0;
+        try {
+            for (int i = 0; i < batched; i++) {
+                long cents = amounts[i];
+                if (cents < 0 || (cents == 0 && ops[i] != 'C')) { // accounts may open empty
+                    reject(Rejection.INVALID_AMOUNT, lineNumbers[i]);
+                    continue;
+                }
+                try {
+                    long seq;
+                    if (ops[i] == 'C') {
+                        seq = journal.logCreate(new Account(names[i], cents));
+                    } else {
+                        Account first = lookup(firstAccounts[i]);
+                        Account second = ops[i] == 'T' ? lookup(secondAccounts[i]) : null;
+                        if (first == null || (ops[i] == 'T' && second == null)) {
+                            reject(Rejection.UNKNOWN_ACCOUNT, lineNumbers[i]);
+                            continue;
+                        }
+                        seq = switch (ops[i]) {
+                            case 'D' -> journal.logDeposit(first, cents);
+                            case 'W' -> journal.logWithdraw(first, cents);
+                            default -> journal.logTransfer(first, second, cents);
+                        };
+                    }
+                    lastSeq = seq;
+                    applied++;
+                } catch (InsufficientFundsException e) {
+                    reject(Rejection.INSUFFICIENT_FUNDS, lineNumbers[i]);
+                } catch (ArithmeticException e) {
+                    reject(Rejection.INVALID_AMOUNT, lineNumbers[i]); // the balance would overflow
+                } catch (IllegalArgumentException e) {
+                    reject(Rejection.MALFORMED, lineNumbers[i]); // e.g. a transfer to the same account
+                }
+                names[i] = null;
+            }
+        } finally {
+            batched = 0;
+            if (lastSeq > 0) journal.commit(lastSeq);
+        }
+    }
+
+    private Account lookup(long number) {
+        return number > Integer.MAX_VALUE ? null : accounts.get((int) number);
+    }
+
+    private void reject(Rejection reason, long lineNo) {
+        rejected[reason.ordinal()]++;
+        if (samples.size() < MAX_SAMPLES) samples.add("line " + lineNo + ": " + reason.label);
+    }
+
+    // ---- reporting ---- //
+
+    private void printReport(Path file, double seconds) {
+        long totalRejected = 0;
+        for (long count : rejected) totalRejected += count;
+        System.out.printf("Batch %s: %d rows, %d applied, %d rejected in %.2fs (%.0f ops/s)%n",
+                file, rows, applied, totalRejected, seconds, rows / Math.max(seconds, 1e-9));
+        for (Rejection reason : Rejection.values()) {
+            if (rejected[reason.ordinal()] > 0) {
+                System.out.printf("  %-20s %d%n", reason.label + ":", rejected[reason.ordinal()]);
+            }
+        }
+        if (!samples.isEmpty()) {
+            System.out.println("First rejected rows:");
+            samples.forEach(s -> System.out.println("  " + s));
+        }
+    }
+}
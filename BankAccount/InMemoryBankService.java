@@ -0,0 +1,80 @@
+package BankAccount;
+
+import java.io.IOException;
+
+/**
+ * {@link BankService} backed by an {@link AccountRegistry}.
+ * When a journal is supplied every change is made durable before the call returns;
+ * without one the bank lives only in memory (handy for embedding and benchmarks).
+ */
+public class InMemoryBankService implements BankService {
+
+    private final AccountRegistry accounts;
+    private final AccountJournal journal; // may be null
+
+    public InMemoryBankService(AccountRegistry accounts) {
+        this(accounts, null);
+    }
+
+    public InMemoryBankService(AccountRegistry accounts, AccountJournal journal) {
+        this.accounts = accounts;
+        this.journal = journal;
+    }
+
+    @Override
+    public Account createAccount(String holderName, long initialCents) throws IOException {
+        if (holderName == null || holderName.isBlank()) throw new IllegalArgumentException("Name cannot be empty.");
+        if (journal != null) return journal.createAccount(holderName, initialCents);
+        Account acc = new Account(holderName, initialCents);
+        accounts.add(acc);
+        return acc;
+    }
+
+    @Override
+    public Account findAccount(int accountNumber) {
+        return accounts.get(accountNumber);
+    }
+
+    @Override
+    public long deposit(int accountNumber, long cents) throws AccountNotFoundException, IOException {
+        Account acc = require(accountNumber);
+        return journal != null ? journal.deposit(acc, cents) : acc.deposit(cents);
+    }
+
+    @Override
+    public long withdraw(int accountNumber, long cents)
+            throws AccountNotFoundException, InsufficientFundsException, IOException {
+        Account acc = require(accountNumber);
+        return journal != null ? journal.withdraw(acc, cents) : acc.withdraw(cents);
+    }
+
+    @Override
+    public void transfer(int fromAccount, int toAccount, long cents)
+            throws AccountNotFoundException, InsufficientFundsException, IOException {
+        Account from = require(fromAccount);
+        Account to = require(toAccount);
+        if (journal != null) journal.transfer(from, to, cents);
+        else Account.transfer(from, to, cents);
+    }
+
+    @Override
+    public long getBalance(int accountNumber) throws AccountNotFoundException {
+        return require(accountNumber).getBalanceCents();
+    }
+
+    @Override
+    public Iterable<Account> listAccounts() {
+        return accounts;
+    }
+
+    @Override
+    public boolean hasAccounts() {
+        return !accounts.isEmpty();
+    }
+
+    private Account require(int accountNumber) throws AccountNotFoundException {
+        Account acc = accounts.get(accountNumber);
+        if (acc == null) throw new AccountNotFoundException("Account not found.");
+        return acc;
+    }
+}
@@ -0,0 +1,81 @@
+package BankAccount;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Crash-recovery check for {@link AccountJournal}: many threads run journaled operations,
+ * the journal is abandoned without a clean shutdown, and a fresh registry recovered from disk
+ * must match every balance. Prints write throughput and recovery time.
+ * Usage: java BankAccount.JournalRecoveryCheck [operations] [threads] [snapshotInterval] [dir]
+ */
+public class JournalRecoveryCheck {
+
+    public static void main(String[] args) throws Exception {
+        long operations = args.length > 0 ? Long.parseLong(args[0]) : 500_000L;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        long snapshotInterval = args.length > 2 ? Long.parseLong(args[2]) : 1_000_000L;
+        Path dir = args.length > 3 ? Path.of(args[3]) : Files.createTempDirectory("bank-journal");
+
+        AccountRegistry live = new AccountRegistry();
+        AccountJournal journal = AccountJournal.open(dir, live, snapshotInterval);
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) accounts.add(journal.createAccount("Holder " + i, 100_000));
+
+        long perThread = operations / threads;
+        List<Thread> workers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                for (long i = 0; i < perThread; i++) {
+                    Account a = accounts.get(rnd.nextInt(accounts.size()));
+                    Account b = accounts.get(rnd.nextInt(accounts.size()));
+                    long cents = 1 + rnd.nextInt(10_000);
+                    try {
+                        switch (rnd.nextInt(3)) {
+                            case 0 -> journal.deposit(a, cents);
+                            case 1 -> journal.withdraw(a, cents);
+                            default -> {
+                                if (a != b) journal.transfer(a, b, cents);
+                            }
+                        }
+                    } catch (InsufficientFundsException e) {
+                        // rejected operations are never journaled
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) worker.join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d journaled operations on %d threads in %.2fs (%.0f ops/s)%n",
+                perThread * threads, threads, seconds, perThread * threads / seconds);
+
+        // no close(): recover as if the process had crashed right here
+        journal.abandon();
+        AccountRegistry recovered = new AccountRegistry();
+        AccountJournal reopened = AccountJournal.open(dir, recovered, snapshotInterval);
+        System.out.printf("Recovered %d accounts, replayed %d records in %d ms%n",
+                recovered.size(), reopened.getRecoveredRecords(), reopened.getRecoveryMillis());
+
+        int mismatches = 0;
+        for (Account acc : live) {
+            Account copy = recovered.get(acc.getAccountNumber());
+            if (copy == null || copy.getBalanceCents() != acc.getBalanceCents()) mismatches++;
+        }
+        reopened.close();
+        if (mismatches > 0 || recovered.size() != live.size()) {
+            System.out.println("FAILED: " + mismatches + " accounts differ after recovery");
+            System.exit(1);
+        }
+        System.out.println("OK: every balance survived recovery");
+    }
+}
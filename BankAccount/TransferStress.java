@@ -0,0 +1,64 @@
+package BankAccount;
+
+import Common.Money;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stress check for {@link Account#transfer}: many threads move random amounts between
+ * random accounts, then the total balance must equal the starting total.
+ * Usage: java BankAccount.TransferStress [accounts] [transfers] [threads]
+ */
+public class TransferStress {
+
+    public static void main(String[] args) throws InterruptedException {
+        int accountCount = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        long transfers = args.length > 1 ? Long.parseLong(args[1]) : 5_000_000L;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < accountCount; i++) accounts.add(new Account("Stress " + i, 100_000));
+        long expected = total(accounts);
+
+        AtomicLong rejected = new AtomicLong();
+        long perThread = transfers / threads;
+        List<Thread> workers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                for (long i = 0; i < perThread; i++) {
+                    Account from = accounts.get(rnd.nextInt(accountCount));
+                    Account to = accounts.get(rnd.nextInt(accountCount));
+                    if (from == to) continue;
+                    try {
+                        Account.transfer(from, to, 1 + rnd.nextInt(20_000));
+                    } catch (InsufficientFundsException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) worker.join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long actual = total(accounts);
+        System.out.printf("%d transfers on %d threads in %.2fs (%.0f ops/s), %d rejected for insufficient funds%n",
+                perThread * threads, threads, seconds, perThread * threads / seconds, rejected.get());
+        if (actual != expected) {
+            System.out.printf("FAILED: total balance %s, expected %s%n", Money.formatCents(actual), Money.formatCents(expected));
+            System.exit(1);
+        }
+        System.out.printf("OK: total balance conserved at %s%n", Money.formatCents(actual));
+    }
+
+    private static long total(List<Account> accounts) {
+        long sum = 0;
+        for (Account a : accounts) sum += a.getBalanceCents();
+        return sum;
+    }
+}
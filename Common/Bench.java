@@ -0,0 +1,148 @@
+package Common;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Timing harness shared by the {@code *Benchmark} classes. Each measurement warms the operation
+ * up for one second and then times it for one more; every result is fed to a volatile sink so the
+ * JIT cannot drop the measured work.
+ */
+public final class Bench {
+    private static final int[] SIZES = {1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+    public static final int MAX_THREADS = 32;
+    private static final int[] THREADS = {1, 2, 4, 8, 16, MAX_THREADS};
+    private static final long SECOND = 1_000_000_000L;
+    private static final int CHECK_EVERY = 16; // calls between clock reads in measureThreads
+
+    /** Discards everything, so listing benchmarks time only formatting and buffering. */
+    public static final PrintStream NULL_OUT = new PrintStream(OutputStream.nullOutputStream(), true);
+    private static final ListRenderer NULL_RENDERER = new ListRenderer(OutputStream.nullOutputStream(), 0, Long.MAX_VALUE, null);
+
+    private static volatile long sink;
+
+    /** One operation for thread number {@code t}; returns a value so the JIT cannot drop it. */
+    @FunctionalInterface
+    public interface Op {
+        long run(int t);
+    }
+
+    private Bench() {}
+
+    /** Sizes from 1K up to the limit given as the first argument (default 1M; pass 10000000 for 10M). */
+    public static int[] sizes(String[] args) {
+        return sizes(args, SIZES, 1_000_000);
+    }
+
+    /** The {@code sizes} up to the limit given as the first argument, or up to {@code defaultMax}. */
+    public static int[] sizes(String[] args, int[] sizes, int defaultMax) {
+        int max = args.length > 0 ? Integer.parseInt(args[0]) : defaultMax;
+        return Arrays.stream(sizes).filter(s -> s <= max).toArray();
+    }
+
+    /** Thread counts up to the limit given as the first argument (default 8). */
+    public static int[] threads(String[] args) {
+        int max = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        return Arrays.stream(THREADS).filter(n -> n <= max).toArray();
+    }
+
+    /** A shared renderer that discards its output, with no paging or limit, for listing benchmarks. */
+    public static ListRenderer nullRenderer() {
+        return NULL_RENDERER;
+    }
+
+    /** Keeps {@code value} alive, for benchmarks that time their own loops. */
+    public static void consume(long value) {
+        sink += value;
+    }
+
+    public static void header() {
+        header("size");
+    }
+
+    public static void header(String sizeLabel) {
+        System.out.printf("%-36s %12s %18s%n", "benchmark", sizeLabel, "time");
+    }
+
+    public static void threadHeader() {
+        System.out.printf("%-36s %8s %18s %14s%n", "benchmark", "threads", "time/thread", "total");
+    }
+
+    public static void report(String name, int size, double nanos) {
+        System.out.printf("%-36s %,12d %,18.1f ns/op%n", name, size, nanos);
+    }
+
+    /** Reports the mean time per call of {@code op}. */
+    public static void measure(String name, int size, LongSupplier op) {
+        report(name, size, timePerCall(op));
+    }
+
+    /** Reports the mean time per item of {@code op}, which handles {@code items} items per call. */
+    public static void measurePerItem(String name, int items, LongSupplier op) {
+        report(name, items, timePerCall(op) / items);
+    }
+
+    private static double timePerCall(LongSupplier op) {
+        long warmupEnd = System.nanoTime() + SECOND;
+        while (System.nanoTime() < warmupEnd) sink += op.getAsLong();
+        long calls = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            sink += op.getAsLong();
+            calls++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < SECOND);
+        return (double) elapsed / calls;
+    }
+
+    /**
+     * Runs {@code op} on {@code threads} threads and reports time per call per thread and total
+     * throughput. Each thread reads the clock every {@value #CHECK_EVERY} calls and counts only the
+     * calls between its first and last reading inside the one-second window, so work finishing after
+     * the window closes is not counted; an op slower than about 60 ms is not measurable this way.
+     */
+    public static void measureThreads(String name, int threads, Op op) throws InterruptedException {
+        long windowStart = System.nanoTime() + SECOND; // one second of warm-up first
+        long windowEnd = windowStart + SECOND;
+        double[] opsPerNano = new double[threads];
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            int t = i;
+            workers[i] = new Thread(() -> {
+                long acc = 0;
+                long ops = 0;
+                long first = 0;
+                long last = 0;
+                boolean counting = false;
+                for (int n = 1; ; n++) {
+                    acc += op.run(t);
+                    if (n < CHECK_EVERY) continue;
+                    n = 0;
+                    long now = System.nanoTime();
+                    if (now >= windowEnd) break;
+                    if (now < windowStart) continue;
+                    if (counting) {
+                        ops += CHECK_EVERY;
+                    } else {
+                        counting = true;
+                        first = now;
+                    }
+                    last = now;
+                }
+                sink += acc;
+                if (ops > 0) opsPerNano[t] = (double) ops / (last - first);
+            });
+            workers[i].start();
+        }
+        for (Thread w : workers) w.join();
+        double total = 0;
+        for (double rate : opsPerNano) {
+            if (rate == 0) throw new IllegalStateException(name + " is too slow to measure on " + threads + " threads");
+            total += rate;
+        }
+        System.out.printf("%-36s %8d %15.1f ns %,10.1f Mops/s%n", name, threads, threads / total, total * 1e3);
+    }
+}
@@ -0,0 +1,119 @@
+package Common;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Scanner;
+
+/**
+ * Prints lists through one large buffer instead of a println per row.
+ * Each row is appended to a reused StringBuilder, and output is flushed once per page
+ * (or once at the end when paging is off). Command-line options read by {@link #fromArgs}:
+ * <pre>
+ *   --page-size N   pause for Enter after every N rows (default 0 = no paging)
+ *   --limit N       print at most N rows
+ * </pre>
+ */
+public class ListRenderer {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Options:",
+            "  --page-size N   pause for Enter after every N rows (0 = no paging)",
+            "  --limit N       print at most N rows");
+
+    /** Appends the text of one row, without a line separator. */
+    @FunctionalInterface
+    public interface RowFormat<T> {
+        void appendTo(T row, StringBuilder sb);
+    }
+
+    private final OutputStream out;
+    private final int pageSize;
+    private final long limit;
+    private final Scanner pager;
+    private final StringBuilder line = new StringBuilder(256);
+
+    /**
+     * @param pageSize rows per page, or 0 for a single page
+     * @param limit    maximum rows to print, or {@code Long.MAX_VALUE}
+     * @param pager    where to wait for Enter between pages; null never pauses
+     */
+    public ListRenderer(OutputStream out, int pageSize, long limit, Scanner pager) {
+        if (pageSize < 0) throw new IllegalArgumentException("Page size cannot be negative");
+        if (limit < 0) throw new IllegalArgumentException("Limit cannot be negative");
+        this.out = out;
+        this.pageSize = pageSize;
+        this.limit = limit;
+        this.pager = pager;
+    }
+
+    /**
+     * A renderer on standard output configured from {@code --page-size} and {@code --limit}; other
+     * arguments are ignored. A value that is not a non-negative whole number prints the usage to
+     * standard error and exits with status 2.
+     */
+    public static ListRenderer fromArgs(String[] args, Scanner pager) {
+        int pageSize = 0;
+        long limit = Long.MAX_VALUE;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--page-size") && i + 1 < args.length) pageSize = (int) option("--page-size", args[++i], Integer.MAX_VALUE);
+            else if (args[i].equals("--limit") && i + 1 < args.length) limit = option("--limit", args[++i], Long.MAX_VALUE);
+        }
+        return new ListRenderer(System.out, pageSize, limit, pager);
+    }
+
+    private static long option(String name, String value, long max) {
+        try {
+            long n = Long.parseLong(value.trim());
+            if (n >= 0 && n <= max) return n;
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        System.err.println("Invalid " + name + " value: " + value);
+        System.err.println(USAGE);
+        System.exit(2);
+        return 0; // not reached
+    }
+
+    /** Prints one row per line and returns how many rows were printed. */
+    public synchronized <T> long render(Iterable<? extends T> rows, RowFormat<? super T> format) {
+        Writer w = new OutputStreamWriter(new BufferedOutputStream(out, BUFFER_SIZE), Charset.defaultCharset());
+        long printed = 0;
+        try {
+            Iterator<? extends T> it = rows.iterator();
+            while (it.hasNext() && printed < limit) {
+                line.setLength(0);
+                format.appendTo(it.next(), line);
+                line.append(System.lineSeparator());
+                w.append(line);
+                printed++;
+                if (pageSize > 0 && printed % pageSize == 0 && it.hasNext() && printed < limit) {
+                    w.flush();
+                    if (!nextPage()) break;
+                }
+            }
+            if (printed == limit && it.hasNext()) {
+                String more = rows instanceof Collection<?> c ? (c.size() - printed) + " more rows" : "more rows";
+                w.append("... ").append(more).append(" not shown (--limit ").append(String.valueOf(limit)).append(')')
+                        .append(System.lineSeparator());
+            }
+            w.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return printed;
+    }
+
+    private boolean nextPage() {
+        if (pager == null) return true;
+        System.out.print("-- More (Enter to continue, q to stop) -- ");
+        if (!pager.hasNextLine()) return false;
+        return !pager.nextLine().trim().equalsIgnoreCase("q");
+    }
+}
@@ -0,0 +1,32 @@
+package Common;
+
+import java.math.BigDecimal;
+
+/** Money is held as a long count of cents; these helpers convert it to and from decimal text. */
+public final class Money {
+    private Money() {}
+
+    /** Renders a cent amount as a plain decimal, e.g. 1050 -> "10.50". */
+    public static String formatCents(long cents) {
+        return BigDecimal.valueOf(cents, 2).toPlainString();
+    }
+
+    /** Appends a cent amount in the same form as {@link #formatCents}, without allocating. */
+    public static void appendCents(StringBuilder sb, long cents) {
+        if (cents < 0) sb.append('-');
+        long fraction = Math.abs(cents % 100);
+        sb.append(Math.abs(cents / 100)).append('.');
+        if (fraction < 10) sb.append('0');
+        sb.append(fraction);
+    }
+
+    /**
+     * Parses a decimal amount such as "10.5" into cents.
+     *
+     * @throws NumberFormatException if {@code text} is not a decimal number
+     * @throws ArithmeticException if it has more than two decimal places or does not fit in a long
+     */
+    public static long parseCents(String text) {
+        return new BigDecimal(text.trim()).movePointRight(2).longValueExact();
+    }
+}
@@ -14,8 +14,9 @@ public class Contact {
     private String email;
     private String address;
 
-    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[\w.-]+@[\w.-]+\\.[A-Za-z]{2,6}$");
-    private static final Pattern PHONE_PATTERN = Pattern.compile("^\\+?[0-9]{7,15}$");
+    // the grammar accepted by isValidEmail/isValidPhone; kept to document it and to check the hand-written matchers
+    static final Pattern EMAIL_PATTERN = Pattern.compile("^[\\w.-]+@[\\w.-]+\\.[A-Za-z]{2,6}$");
+    static final Pattern PHONE_PATTERN = Pattern.compile("^\\+?[0-9]{7,15}$");
 
     public Contact(String name, String phone, String email, String address) throws InvalidEmailException, InvalidPhoneException {
         if (name == null || name.isBlank()) throw new IllegalArgumentException("Name required");
@@ -28,33 +29,101 @@ public class Contact {
         this.address = address == null ? "" : address;
     }
 
+    private Contact(int id, String name, String phone, String email, String address) {
+        this.id = id;
+        this.name = name;
+        this.phone = phone;
+        this.email = email;
+        this.address = address;
+    }
+
+    /** A copy with the same id that later edits to this contact leave alone. */
+    Contact snapshot() {
+        return new Contact(id, getName(), getPhone(), getEmail(), getAddress());
+    }
+
+    /** For views whose fields live elsewhere (see {@link MappedContact}); the getters must be overridden. */
+    Contact(int id) {
+        this.id = id;
+    }
+
     public int getId() { return id; }
     public String getName() { return name; }
     public String getPhone() { return phone; }
     public String getEmail() { return email; }
     public String getAddress() { return address; }
 
-    public void setPhone(String phone) throws InvalidPhoneException {
+    // the setters are package-private: edits go through a ContactService, which keeps its indexes in sync
+
+    void setPhone(String phone) throws InvalidPhoneException {
         if (!isValidPhone(phone)) throw new InvalidPhoneException("Invalid phone");
         this.phone = phone;
     }
 
-    public void setEmail(String email) throws InvalidEmailException {
+    void setEmail(String email) throws InvalidEmailException {
         if (!isValidEmail(email)) throw new InvalidEmailException("Invalid email");
         this.email = email;
     }
 
+    /**
+     * Same result as {@code EMAIL_PATTERN.matcher(email).matches()}, without allocating a Matcher:
+     * one or more [A-Za-z0-9_.-], '@', then a domain of the same characters whose text after the
+     * last '.' is 2-6 ASCII letters and whose text before it is not empty.
+     */
     public static boolean isValidEmail(String email) {
-        return email != null && EMAIL_PATTERN.matcher(email).matches();
+        if (email == null) return false;
+        int at = email.indexOf('@');
+        if (at < 1) return false;
+        int lastDot = -1;
+        for (int i = 0; i < email.length(); i++) {
+            if (i == at) continue;
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (i > at) lastDot = i;
+            } else if (!isWordChar(c) && c != '-') {
+                return false; // also rejects a second '@'
+            }
+        }
+        int tld = email.length() - lastDot - 1;
+        if (lastDot < at + 2 || tld < 2 || tld > 6) return false;
+        for (int i = lastDot + 1; i < email.length(); i++) {
+            if (!isAsciiLetter(email.charAt(i))) return false;
+        }
+        return true;
     }
 
+    /** Same result as {@code PHONE_PATTERN.matcher(phone).matches()}: an optional '+' and 7-15 ASCII digits. */
     public static boolean isValidPhone(String phone) {
-        return phone != null && PHONE_PATTERN.matcher(phone).matches();
+        if (phone == null) return false;
+        int start = phone.startsWith("+") ? 1 : 0;
+        int digits = phone.length() - start;
+        if (digits < 7 || digits > 15) return false;
+        for (int i = start; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    /** {@code \w} without UNICODE_CHARACTER_CLASS. */
+    private static boolean isWordChar(char c) {
+        return isAsciiLetter(c) || c >= '0' && c <= '9' || c == '_';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
     }
 
     @Override
     public String toString() {
-        return String.format("#%d | %s | %s | %s", id, name, phone, email);
+        StringBuilder sb = new StringBuilder(64);
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    /** Appends the same text as {@link #toString()}, for bulk listings. */
+    public void appendTo(StringBuilder sb) {
+        sb.append('#').append(id).append(" | ").append(getName()).append(" | ").append(getPhone()).append(" | ").append(getEmail());
     }
 }
 
@@ -0,0 +1,93 @@
+package ContactDirectory;
+
+import Common.Bench;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Micro-benchmarks for contact search at growing directory sizes.
+ * Usage: java ContactDirectory.ContactBenchmark [maxSize]
+ */
+public class ContactBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Bench.header();
+        ContactService directory = new InMemoryContactService();
+        int created = 0;
+        for (int size : Bench.sizes(args)) {
+            for (; created < size; created++) {
+                directory.addContact("Person " + created, "+977" + (10_000_000 + created),
+                        "person" + created + "@example.com", "");
+            }
+            String rare = "person" + (size / 2) + "@";
+            Bench.measure("searchByKeyword (one hit)", size, () -> directory.searchByKeyword(rare).size());
+            Bench.measure("searchByKeyword (no hit)", size, () -> directory.searchByKeyword("zzz").size());
+            Bench.measure("searchByKeyword (2 chars, scan)", size, () -> directory.searchByKeyword("zz").size());
+            Bench.measure("listContacts via println", size, () -> {
+                directory.listContacts().forEach(Bench.NULL_OUT::println);
+                return 0;
+            });
+            Bench.measure("listContacts via ListRenderer", size, () -> Bench.nullRenderer().render(directory.listContacts(), Contact::appendTo));
+        }
+        for (int size : Bench.sizes(args)) importOnce(size);
+    }
+
+    /**
+     * Times one bulk import of {@code size} CSV rows (1% repeat an earlier row) into an empty
+     * directory. Import is a one-shot operation, so it is run once rather than through {@link Bench#measure}.
+     */
+    private static void importOnce(int size) throws Exception {
+        Path csv = Files.createTempFile("contacts", ".csv");
+        try {
+            try (BufferedWriter w = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+                w.write("name,phone,email,address\n");
+                for (int i = 0; i < size; i++) {
+                    int n = i % 100 == 99 ? i / 2 : i;
+                    w.write("Person " + n + ",+977" + (10_000_000 + n) + ",person" + n + "@example.com,Street " + n + ", Kathmandu\n");
+                }
+            }
+            ContactService fresh = new InMemoryContactService();
+            long start = System.nanoTime();
+            ImportReport report;
+            try (BufferedReader in = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+                report = fresh.importContacts(in);
+            }
+            long elapsed = System.nanoTime() - start;
+            Bench.consume(report.getImported());
+            Bench.report("importContacts (per row)", size, (double) elapsed / size);
+            System.out.println("    " + report);
+            mappedOnce(csv, size);
+        } finally {
+            Files.delete(csv);
+        }
+    }
+
+    /** Loads the CSV into a {@link MappedContactService}, then times reopening it and reading from it cold. */
+    private static void mappedOnce(Path csv, int size) throws Exception {
+        Path file = Files.createTempFile("contacts", ".db");
+        Files.delete(file);
+        try {
+            long start = System.nanoTime();
+            try (MappedContactService store = new MappedContactService(file);
+                 BufferedReader in = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+                Bench.consume(store.importContacts(in).getImported());
+            }
+            Bench.report("importContacts mapped (per row)", size, (double) (System.nanoTime() - start) / size);
+            start = System.nanoTime();
+            try (MappedContactService store = new MappedContactService(file)) {
+                Contact middle = store.findById(size / 2);
+                Bench.consume(middle.getName().length());
+                Bench.report("open mapped + first findById", size, (double) (System.nanoTime() - start));
+                int count = store.listContacts().size();
+                Bench.measure("findById + getName (mapped)", size, () -> store.findById(1 + ThreadLocalRandom.current().nextInt(count)).getName().length());
+                Bench.measure("listContacts via ListRenderer (mapped)", size, () -> Bench.nullRenderer().render(store.listContacts(), Contact::appendTo));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
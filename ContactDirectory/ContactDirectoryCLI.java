@@ -1,18 +1,34 @@
 package ContactDirectory;
 
-import java.util.ArrayList;
+import Common.ListRenderer;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Scanner;
 
 /**
  * Contact Directory CLI
+ * A thin console client of {@link ContactService}.
+ * Listings honour --page-size N and --limit N (see {@link ListRenderer}).
+ * With --store FILE contacts are kept in that file (see {@link MappedContactService}) instead of
+ * only in memory.
  */
 public class ContactDirectoryCLI {
 
     private static final Scanner SCANNER = new Scanner(System.in);
-    private static final List<Contact> CONTACTS = new ArrayList<>();
+    private static final int FUZZY_RESULTS = 10;
+    private static ContactService DIRECTORY = new InMemoryContactService();
+    private static ListRenderer renderer;
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        renderer = ListRenderer.fromArgs(args, SCANNER);
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--store") && i + 1 < args.length) DIRECTORY = new MappedContactService(Path.of(args[++i]));
+        }
         System.out.println("===== Contact Directory =====");
         while (true) {
             printMenu();
@@ -23,11 +39,13 @@ public class ContactDirectoryCLI {
                     case 2 -> searchContacts();
                     case 3 -> editContact();
                     case 4 -> listContacts();
-                    case 5 -> {
+                    case 5 -> importContacts();
+                    case 6 -> {
+                        if (DIRECTORY instanceof Closeable store) store.close();
                         System.out.println("Exiting... Goodbye!");
                         return;
                     }
-                    default -> System.out.println("Invalid choice. Select 1-5.");
+                    default -> System.out.println("Invalid choice. Select 1-6.");
                 }
             } catch (Exception e) {
                 System.out.println("Error: " + e.getMessage());
@@ -42,7 +60,8 @@ public class ContactDirectoryCLI {
         System.out.println("2. Search Contacts");
         System.out.println("3. Edit Contact (phone/email)");
         System.out.println("4. List All Contacts");
-        System.out.println("5. Exit");
+        System.out.println("5. Import Contacts from CSV");
+        System.out.println("6. Exit");
     }
 
     // ---- operations ---- //
@@ -57,62 +76,60 @@ public class ContactDirectoryCLI {
         System.out.print("Enter address (optional): ");
         String addr = SCANNER.nextLine().trim();
 
-        // duplicate check by name & phone
-        for (Contact c : CONTACTS) {
-            if (c.getName().equalsIgnoreCase(name) || c.getPhone().equals(phone)) {
-                throw new DuplicateContactException("Contact already exists.");
-            }
-        }
-        Contact c = new Contact(name, phone, email, addr);
-        CONTACTS.add(c);
+        Contact c = DIRECTORY.addContact(name, phone, email, addr);
         System.out.println("Added: " + c);
     }
 
-    private static List<Contact> searchByKeyword(String keyword) {
-        keyword = keyword.toLowerCase();
-        List<Contact> res = new ArrayList<>();
-        for (Contact c : CONTACTS) {
-            if (c.getName().toLowerCase().contains(keyword) ||
-                    c.getPhone().contains(keyword) ||
-                    c.getEmail().toLowerCase().contains(keyword)) {
-                res.add(c);
-            }
-        }
-        return res;
-    }
-
     private static void searchContacts() {
         System.out.print("Enter search keyword: ");
         String kw = SCANNER.nextLine().trim();
-        List<Contact> res = searchByKeyword(kw);
+        List<Contact> res = DIRECTORY.searchByKeyword(kw);
+        if (!res.isEmpty()) {
+            renderer.render(res, Contact::appendTo);
+            return;
+        }
+        // no exact match: the keyword may be misspelt, so offer the closest names instead
+        res = DIRECTORY.searchFuzzy(kw, FUZZY_RESULTS);
         if (res.isEmpty()) System.out.println("No contacts found.");
-        else res.forEach(System.out::println);
-    }
-
-    private static Contact findById(int id) {
-        return CONTACTS.stream().filter(c -> c.getId() == id).findFirst().orElse(null);
+        else {
+            System.out.println("No exact matches. Closest contacts:");
+            renderer.render(res, Contact::appendTo);
+        }
     }
 
-    private static void editContact() throws ContactNotFoundException, InvalidEmailException, InvalidPhoneException {
+    private static void editContact()
+            throws ContactNotFoundException, DuplicateContactException, InvalidEmailException, InvalidPhoneException {
         int id = readInt("Enter contact ID to edit: ");
-        Contact c = findById(id);
+        Contact c = DIRECTORY.findById(id);
         if (c == null) throw new ContactNotFoundException("ID not found");
         System.out.println("Editing " + c);
         System.out.print("New phone (leave blank to keep): ");
         String phone = SCANNER.nextLine().trim();
-        if (!phone.isBlank()) c.setPhone(phone);
         System.out.print("New email (leave blank to keep): ");
         String email = SCANNER.nextLine().trim();
-        if (!email.isBlank()) c.setEmail(email);
-        System.out.println("Updated: " + c);
+        System.out.println("Updated: " + DIRECTORY.editContact(id, phone, email));
     }
 
     private static void listContacts() {
-        if (CONTACTS.isEmpty()) {
+        List<Contact> contacts = DIRECTORY.listContacts();
+        if (contacts.isEmpty()) {
             System.out.println("No contacts.");
             return;
         }
-        CONTACTS.forEach(System.out::println);
+        renderer.render(contacts, Contact::appendTo);
+    }
+
+    private static void importContacts() throws IOException {
+        System.out.print("CSV file (name,phone,email[,address] per line): ");
+        Path file = Path.of(SCANNER.nextLine().trim());
+        ImportReport report;
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            report = DIRECTORY.importContacts(in);
+        }
+        System.out.println(report);
+        for (String detail : report.getDetails()) System.out.println("  " + detail);
+        long unlisted = report.getDuplicates() + report.getInvalid() - report.getDetails().size();
+        if (unlisted > 0) System.out.println("  ... and " + unlisted + " more skipped row(s)");
     }
 
     // ---- helpers ---- //
@@ -0,0 +1,193 @@
+package ContactDirectory;
+
+import java.util.Arrays;
+
+/**
+ * Trigram index over contact name, phone and email for substring search.
+ * Every run of three characters (case-folded) in a field maps to the sorted positions of the
+ * contacts containing it. A query of three or more characters can only match contacts present in
+ * the posting list of each of its trigrams, so intersecting the shortest lists yields a small
+ * candidate set that the caller then verifies.
+ * <p>
+ * {@link #update} moves a contact between posting lists in place, so a search running alongside
+ * it could miss the contact; both contact services only call the index inside their synchronized methods.
+ */
+public class ContactIndex {
+    public static final int GRAM = 3;
+
+    /**
+     * Open-addressing map from trigram to postings. Trigrams are looked up dozens of times per
+     * contact during a bulk load, and a {@code HashMap<Long, ...>} boxed a Long for every lookup.
+     */
+    private static final class GramTable {
+        long[] keys = new long[1024];
+        Postings[] values = new Postings[1024]; // null marks a free slot
+        int size;
+
+        Postings get(long gram) {
+            int mask = keys.length - 1;
+            for (int i = slot(gram, mask); values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == gram) return values[i];
+            }
+            return null;
+        }
+
+        Postings getOrCreate(long gram) {
+            int mask = keys.length - 1;
+            int i = slot(gram, mask);
+            for (; values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == gram) return values[i];
+            }
+            Postings p = new Postings();
+            keys[i] = gram;
+            values[i] = p;
+            if (++size * 2 > keys.length) resize();
+            return p;
+        }
+
+        /** Removes the entry, shifting later entries of the probe run back so lookups stay correct. */
+        void remove(long gram) {
+            int mask = keys.length - 1;
+            int i = slot(gram, mask);
+            while (values[i] != null && keys[i] != gram) i = (i + 1) & mask;
+            if (values[i] == null) return;
+            size--;
+            for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+                int home = slot(keys[j], mask);
+                if (((j - home) & mask) >= ((j - i) & mask)) { // entry j may move into the hole at i
+                    keys[i] = keys[j];
+                    values[i] = values[j];
+                    i = j;
+                }
+            }
+            values[i] = null;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            Postings[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new Postings[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldValues[j] == null) continue;
+                int i = slot(oldKeys[j], mask);
+                while (values[i] != null) i = (i + 1) & mask;
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+
+        private static int slot(long gram, int mask) {
+            long h = gram * 0x9E3779B97F4A7C15L;
+            return (int) (h >>> 32) & mask;
+        }
+    }
+
+    private static final int[] NONE = new int[0];
+
+    private final GramTable postings = new GramTable();
+
+    /** Indexes a contact stored at {@code doc}; positions must be added in increasing order. */
+    public void add(int doc, String name, String phone, String email) {
+        for (long gram : grams(name, phone, email)) postings.getOrCreate(gram).append(doc);
+    }
+
+    /** Re-indexes a contact whose fields changed from the old values to the new ones. */
+    public void update(int doc, String oldName, String oldPhone, String oldEmail, String name, String phone, String email) {
+        long[] before = grams(oldName, oldPhone, oldEmail);
+        long[] after = grams(name, phone, email);
+        for (long gram : before) {
+            if (Arrays.binarySearch(after, gram) < 0) {
+                Postings p = postings.get(gram);
+                if (p != null) {
+                    p.remove(doc);
+                    if (p.size == 0) postings.remove(gram);
+                }
+            }
+        }
+        for (long gram : after) {
+            if (Arrays.binarySearch(before, gram) < 0) postings.getOrCreate(gram).insert(doc);
+        }
+    }
+
+    /**
+     * Sorted positions of contacts that contain every trigram of {@code keyword} (a superset of the
+     * true matches), or null if the keyword is shorter than {@link #GRAM} and cannot use the index.
+     */
+    public int[] candidates(String keyword) {
+        if (keyword.length() < GRAM) return null;
+        long[] grams = grams(keyword);
+        Postings[] lists = new Postings[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+            if (lists[i] == null) return NONE;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        int[] result = Arrays.copyOf(lists[0].docs, lists[0].size);
+        int n = result.length;
+        for (int i = 1; i < lists.length && n > 0; i++) n = intersect(result, n, lists[i]);
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    /** Keeps the first {@code n} entries of {@code docs} that also occur in {@code p}; returns the new count. */
+    private static int intersect(int[] docs, int n, Postings p) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < n && from < p.size; i++) {
+            int at = gallop(p.docs, from, p.size, docs[i]);
+            if (at < p.size && p.docs[at] == docs[i]) docs[kept++] = docs[i];
+            from = at;
+        }
+        return kept;
+    }
+
+    /** First index in [from, to) whose value is at least {@code target}, probing 1, 2, 4... ahead. */
+    private static int gallop(int[] a, int from, int to, int target) {
+        int step = 1;
+        int lo = from;
+        int hi = from;
+        while (hi < to && a[hi] < target) {
+            lo = hi + 1;
+            hi += step;
+            step <<= 1;
+        }
+        int at = Arrays.binarySearch(a, lo, Math.min(hi, to), target);
+        return at >= 0 ? at : -at - 1;
+    }
+
+    /** Distinct trigrams of the fields, sorted; trigrams never span two fields. */
+    private static long[] grams(String... fields) {
+        int total = 0;
+        for (String f : fields) total += Math.max(0, f.length() - GRAM + 1);
+        long[] grams = new long[total];
+        int n = 0;
+        for (String f : fields) {
+            for (int i = 0; i + GRAM <= f.length(); i++) grams[n++] = gram(f, i);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (distinct == 0 || grams[distinct - 1] != grams[i]) grams[distinct++] = grams[i];
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private static long gram(String s, int at) {
+        return ((long) fold(s.charAt(at)) << 32) | ((long) fold(s.charAt(at + 1)) << 16) | fold(s.charAt(at + 2));
+    }
+
+    /** Same case folding as {@link String#regionMatches(boolean, int, String, int, int)} with ignoreCase. */
+    static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /** Case-insensitive {@code contains} that allocates nothing. */
+    static boolean containsIgnoreCase(String haystack, String needle) {
+        int last = haystack.length() - needle.length();
+        for (int i = 0; i <= last; i++) {
+            if (haystack.regionMatches(true, i, needle, 0, needle.length())) return true;
+        }
+        return false;
+    }
+}
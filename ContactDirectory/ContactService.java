@@ -0,0 +1,47 @@
+package ContactDirectory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Contact directory operations, independent of any console I/O.
+ */
+public interface ContactService {
+
+    /**
+     * Adds a contact unless one with the same name (ignoring case) or phone (ignoring a leading
+     * '+') already exists.
+     */
+    Contact addContact(String name, String phone, String email, String address)
+            throws DuplicateContactException, InvalidEmailException, InvalidPhoneException;
+
+    /** Case-insensitive substring match on name, phone or email. */
+    List<Contact> searchByKeyword(String keyword);
+
+    /**
+     * Typo-tolerant search on the words of names and of emails before the '@'; the best
+     * {@code limit} matches, best first (see {@link FuzzyIndex} for the scoring).
+     */
+    List<Contact> searchFuzzy(String query, int limit);
+
+    /** Returns the contact with this id, or null if there is none. */
+    Contact findById(int id);
+
+    /**
+     * Updates phone and/or email; a null or blank value keeps the current one.
+     * The new phone must not belong to another contact.
+     */
+    Contact editContact(int id, String phone, String email)
+            throws ContactNotFoundException, DuplicateContactException, InvalidEmailException, InvalidPhoneException;
+
+    List<Contact> listContacts();
+
+    /**
+     * Adds contacts from CSV lines {@code name,phone,email[,address]} in one pass. The address is
+     * the rest of the line and may contain commas; blank lines and a leading "name," header are
+     * skipped. Duplicates (of existing contacts or of earlier rows) and invalid rows are skipped
+     * and counted rather than aborting the import.
+     */
+    ImportReport importContacts(BufferedReader csv) throws IOException;
+}
@@ -0,0 +1,169 @@
+package ContactDirectory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contacts in a memory-mapped file of fixed-size records.
+ * <pre>
+ *   header (4 KB): magic "CDIR", version, record size, record count
+ *   record (256 B): id | phone | name | email | address
+ * </pre>
+ * Each text field is a length byte followed by up to {@code *_MAX} bytes of UTF-8. Record {@code n}
+ * holds the contact with id {@code n + 1}, so finding a contact's offset is arithmetic rather than
+ * a lookup table that would have to be loaded on open. The file is mapped in 16 MB segments as it
+ * grows; opening it maps only the header, and a field is decoded only when it is read.
+ * Methods lock the store, since {@link MappedContact} views read it outside the service lock.
+ */
+public class ContactStore implements Closeable {
+    static final int RECORD_SIZE = 256;
+    static final int PHONE_MAX = 16;
+    static final int NAME_MAX = 64;
+    static final int EMAIL_MAX = 96;
+    static final int ADDRESS_MAX = 72;
+
+    private static final int ID = 0;
+    static final int PHONE = 4;
+    static final int NAME = PHONE + 1 + PHONE_MAX;
+    static final int EMAIL = NAME + 1 + NAME_MAX;
+    static final int ADDRESS = EMAIL + 1 + EMAIL_MAX;
+
+    private static final int MAGIC = 0x43444952; // "CDIR"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4096;
+    private static final int COUNT = 12;
+    private static final int SEGMENT_RECORDS = 1 << 16;
+    private static final long SEGMENT_SIZE = (long) SEGMENT_RECORDS * RECORD_SIZE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private int count;
+
+    /** Opens the store at {@code file}, creating an empty one if the file does not exist. */
+    public ContactStore(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            boolean fresh = channel.size() == 0;
+            if (!fresh && channel.size() < HEADER_SIZE) throw new IOException("Not a contact store: " + file);
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            if (fresh) {
+                header.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, RECORD_SIZE).putInt(COUNT, 0);
+            } else if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || header.getInt(8) != RECORD_SIZE) {
+                throw new IOException("Not a contact store: " + file);
+            }
+            count = header.getInt(COUNT);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    /** Id of the contact in record {@code slot}. */
+    public static int idOf(int slot) {
+        return slot + 1;
+    }
+
+    /** Record holding contact {@code id}, or -1 if there is none. */
+    public synchronized int slotOf(int id) {
+        return id >= 1 && id <= count ? id - 1 : -1;
+    }
+
+    /** Appends a record and returns its slot; fields must already be validated (see {@link #checkFits}). */
+    public synchronized int append(String name, String phone, String email, String address) {
+        int slot = count;
+        ByteBuffer segment = segment(slot);
+        int base = offset(slot);
+        segment.putInt(base + ID, idOf(slot));
+        write(slot, PHONE, PHONE_MAX, phone);
+        write(slot, NAME, NAME_MAX, name);
+        write(slot, EMAIL, EMAIL_MAX, email);
+        write(slot, ADDRESS, ADDRESS_MAX, address);
+        count++;
+        header.putInt(COUNT, count); // published last, so a torn append is simply not counted
+        return slot;
+    }
+
+    /** Decodes one text field ({@link #PHONE}, {@link #NAME}, {@link #EMAIL} or {@link #ADDRESS}). */
+    public synchronized String read(int slot, int field) {
+        ByteBuffer segment = segment(slot);
+        int at = offset(slot) + field;
+        byte[] bytes = new byte[segment.get(at) & 0xFF];
+        segment.get(at + 1, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public synchronized void write(int slot, int field, int max, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > max) throw new IllegalArgumentException("Field longer than " + max + " bytes");
+        ByteBuffer segment = segment(slot);
+        int at = offset(slot) + field;
+        segment.put(at, (byte) bytes.length);
+        segment.put(at + 1, bytes);
+    }
+
+    /** Rejects values too long for their fixed-size fields before anything is written. */
+    public static void checkFits(String name, String phone, String email, String address) {
+        if (utf8Length(name) > NAME_MAX) throw new IllegalArgumentException("Name longer than " + NAME_MAX + " bytes");
+        if (phone.length() > PHONE_MAX) throw new IllegalArgumentException("Phone longer than " + PHONE_MAX + " characters");
+        if (email.length() > EMAIL_MAX) throw new IllegalArgumentException("Email longer than " + EMAIL_MAX + " characters");
+        if (utf8Length(address) > ADDRESS_MAX) throw new IllegalArgumentException("Address longer than " + ADDRESS_MAX + " bytes");
+    }
+
+    private static int utf8Length(String s) {
+        int n = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) n++;
+            else if (c < 0x800) n += 2;
+            else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                n += 4;
+                i++;
+            } else n += 3; // lone surrogates are encoded as '?' by getBytes; 3 is an upper bound
+        }
+        return n;
+    }
+
+    /** Writes dirty pages to disk. */
+    public synchronized void force() {
+        for (MappedByteBuffer segment : segments) segment.force();
+        header.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private static int offset(int slot) {
+        return (slot % SEGMENT_RECORDS) * RECORD_SIZE;
+    }
+
+    /** Maps segments up to the one holding {@code slot}; mapping past the end grows the file. */
+    private ByteBuffer segment(int slot) {
+        int index = slot / SEGMENT_RECORDS;
+        try {
+            while (segments.size() <= index) {
+                long position = HEADER_SIZE + segments.size() * SEGMENT_SIZE;
+                segments.add(channel.map(FileChannel.MapMode.READ_WRITE, position, SEGMENT_SIZE));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return segments.get(index);
+    }
+}
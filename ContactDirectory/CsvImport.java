@@ -0,0 +1,49 @@
+package ContactDirectory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/** The CSV reading and validation behind {@link ContactService#importContacts}, shared by the services. */
+final class CsvImport {
+
+    /** Where validated rows go. */
+    @FunctionalInterface
+    interface Target {
+        /** Adds the contact and returns null, or returns why it duplicates an existing one. */
+        String add(String name, String phone, String email, String address) throws InvalidEmailException, InvalidPhoneException;
+    }
+
+    private CsvImport() { }
+
+    static ImportReport read(BufferedReader csv, Target target) throws IOException {
+        ImportReport report = new ImportReport();
+        long lineNumber = 0;
+        String line;
+        while ((line = csv.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || lineNumber == 1 && line.regionMatches(true, 0, "name,", 0, 5)) continue;
+            String[] f = line.split(",", 4);
+            if (f.length < 3) {
+                report.invalid(lineNumber, "expected name,phone,email[,address]");
+                continue;
+            }
+            String name = f[0].trim();
+            String phone = f[1].trim();
+            String email = f[2].trim();
+            // validate up front: rejected rows are common in bulk data and exceptions are costly
+            if (name.isEmpty()) report.invalid(lineNumber, "name required");
+            else if (!Contact.isValidPhone(phone)) report.invalid(lineNumber, "invalid phone " + phone);
+            else if (!Contact.isValidEmail(email)) report.invalid(lineNumber, "invalid email " + email);
+            else {
+                try {
+                    String duplicate = target.add(name, phone, email, f.length > 3 ? f[3].trim() : "");
+                    if (duplicate == null) report.added();
+                    else report.duplicate(lineNumber, duplicate);
+                } catch (InvalidEmailException | InvalidPhoneException | IllegalArgumentException e) {
+                    report.invalid(lineNumber, e.getMessage());
+                }
+            }
+        }
+        return report;
+    }
+}
@@ -0,0 +1,323 @@
+package ContactDirectory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typo-tolerant index over the words of contact names and email local parts
+ * ("jon.smith42@mail.com" gives "jon" and "smith"), for ranked fuzzy search.
+ * <p>
+ * Words match by edit distance, with a swap of adjacent letters counting as one edit: exactly for words under 3 letters, within 1 edit up to
+ * 5 letters, within {@link #MAX_DISTANCE} beyond. Candidate words come from a symmetric-delete
+ * table (as in SymSpell): each word is filed under every string left by deleting up to
+ * {@link #MAX_DISTANCE} letters from its first {@link #PREFIX} letters, so a query word only has
+ * to generate its own deletes and look them up rather than be compared with every word. The
+ * candidates are then confirmed with the real distance.
+ * <p>
+ * For each query word a contact scores 3 if it has that exact word, 2 if one edit away and 1 if
+ * two; contacts are returned by total score, earlier contacts first on ties.
+ * <p>
+ * The delete table is a plain HashMap that {@link #add} and {@link #update} grow and rewrite, so
+ * searches must not overlap them; the contact services serialize all three on their own monitor.
+ */
+public class FuzzyIndex {
+    public static final int MAX_DISTANCE = 2;
+    static final int PREFIX = 7;
+
+    private static final int[] NONE = new int[0];
+
+    private final Map<String, Integer> wordIds = new HashMap<>();
+    private final List<String> words = new ArrayList<>();
+    private final List<Postings> postings = new ArrayList<>();
+    private final DeleteTable deletes = new DeleteTable();
+    private final long[] deleteHashes = new long[1 + PREFIX + PREFIX * (PREFIX - 1) / 2];
+
+    // per-query scratch indexed by contact position or word id, reused so a query allocates little
+    private int[] score = NONE;
+    private int[] bestForWord = NONE;
+    private int[] reachedAt = NONE;     // epoch (query word) at which the contact was last reached
+    private int[] candidateAt = NONE;   // epoch at which the word was last considered
+    private int[] touched = new int[1024];
+    private int epoch;
+    private int docs; // one past the highest position indexed
+
+    /** Indexes a contact stored at {@code doc}; positions must be added in increasing order. */
+    public void add(int doc, String name, String email) {
+        for (int word : wordIds(name, email)) postings.get(word).append(doc);
+        docs = Math.max(docs, doc + 1);
+    }
+
+    /** Re-indexes a contact whose name or email changed. */
+    public void update(int doc, String oldName, String oldEmail, String name, String email) {
+        int[] before = wordIds(oldName, oldEmail);
+        int[] after = wordIds(name, email);
+        for (int word : before) {
+            if (Arrays.binarySearch(after, word) < 0) postings.get(word).remove(doc);
+        }
+        for (int word : after) {
+            if (Arrays.binarySearch(before, word) < 0) postings.get(word).insert(doc);
+        }
+        docs = Math.max(docs, doc + 1);
+    }
+
+    /** Positions of the {@code limit} best-scoring contacts for {@code query}, best first. */
+    public int[] search(String query, int limit) {
+        List<String> queryWords = split(query, "").stream().distinct().toList();
+        if (queryWords.isEmpty() || limit <= 0) return NONE;
+        prepare(queryWords.size());
+        int firstEpoch = epoch + 1;
+        int touchedCount = 0;
+        for (String q : queryWords) {
+            epoch++;
+            int maxDistance = q.length() < 3 ? 0 : q.length() <= 5 ? 1 : MAX_DISTANCE;
+            if (maxDistance == 0) {
+                Integer word = wordIds.get(q);
+                if (word != null) touchedCount = score(word, MAX_DISTANCE + 1, firstEpoch, touchedCount);
+                continue;
+            }
+            int n = deleteHashes(q, maxDistance, deleteHashes);
+            for (int h = 0; h < n; h++) {
+                for (int e = deletes.first(deleteHashes[h]); e != 0; e = deletes.next(e)) {
+                    int word = deletes.word(e);
+                    if (candidateAt[word] == epoch) continue;
+                    candidateAt[word] = epoch;
+                    int d = distance(q, words.get(word), maxDistance);
+                    if (d <= maxDistance) touchedCount = score(word, MAX_DISTANCE + 1 - d, firstEpoch, touchedCount);
+                }
+            }
+        }
+        return top(touchedCount, limit);
+    }
+
+    /** Adds {@code weight} for the current query word to every contact using {@code word}. */
+    private int score(int word, int weight, int firstEpoch, int touchedCount) {
+        Postings p = postings.get(word);
+        for (int i = 0; i < p.size; i++) {
+            int doc = p.docs[i];
+            if (reachedAt[doc] < firstEpoch) { // first time this query
+                if (touchedCount == touched.length) touched = Arrays.copyOf(touched, touchedCount * 2);
+                touched[touchedCount++] = doc;
+                score[doc] = weight;
+            } else if (reachedAt[doc] != epoch) { // first time this query word
+                score[doc] += weight;
+            } else if (weight > bestForWord[doc]) { // a closer word of the same contact
+                score[doc] += weight - bestForWord[doc];
+            } else {
+                continue;
+            }
+            bestForWord[doc] = weight;
+            reachedAt[doc] = epoch;
+        }
+        return touchedCount;
+    }
+
+    /** Keeps the best {@code limit} touched contacts in a small sorted array. */
+    private int[] top(int touchedCount, int limit) {
+        int[] best = new int[Math.min(limit, touchedCount)];
+        int size = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int doc = touched[i];
+            if (size == best.length && !better(doc, best[size - 1])) continue;
+            int at = size == best.length ? size - 1 : size++;
+            while (at > 0 && better(doc, best[at - 1])) {
+                best[at] = best[at - 1];
+                at--;
+            }
+            best[at] = doc;
+        }
+        return best;
+    }
+
+    private boolean better(int a, int b) {
+        return score[a] != score[b] ? score[a] > score[b] : a < b;
+    }
+
+    /** Sizes the scratch arrays and restarts the epochs well before they could overflow. */
+    private void prepare(int queryWords) {
+        if (score.length < docs) {
+            int length = Math.max(docs, score.length * 2);
+            score = Arrays.copyOf(score, length);
+            bestForWord = Arrays.copyOf(bestForWord, length);
+            reachedAt = Arrays.copyOf(reachedAt, length);
+        }
+        if (candidateAt.length < words.size()) candidateAt = Arrays.copyOf(candidateAt, Math.max(words.size(), candidateAt.length * 2));
+        if (epoch > Integer.MAX_VALUE - queryWords - 1) {
+            Arrays.fill(reachedAt, 0);
+            Arrays.fill(candidateAt, 0);
+            epoch = 0;
+        }
+    }
+
+    /** Sorted ids of the distinct words of a contact, registering words not seen before. */
+    private int[] wordIds(String name, String email) {
+        List<String> split = split(name, email);
+        int[] ids = new int[split.size()];
+        for (int i = 0; i < ids.length; i++) ids[i] = register(split.get(i));
+        Arrays.sort(ids);
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (distinct == 0 || ids[distinct - 1] != ids[i]) ids[distinct++] = ids[i];
+        }
+        return Arrays.copyOf(ids, distinct);
+    }
+
+    private int register(String word) {
+        Integer id = wordIds.get(word);
+        if (id != null) return id;
+        id = words.size();
+        wordIds.put(word, id);
+        words.add(word);
+        postings.add(new Postings());
+        int n = deleteHashes(word, MAX_DISTANCE, deleteHashes);
+        for (int h = 0; h < n; h++) deletes.add(deleteHashes[h], id);
+        return id;
+    }
+
+    /** Case-folded runs of letters in the name and in the email before '@'. */
+    static List<String> split(String name, String email) {
+        List<String> out = new ArrayList<>(4);
+        splitInto(name, name.length(), out);
+        int at = email.indexOf('@');
+        splitInto(email, at < 0 ? email.length() : at, out);
+        return out;
+    }
+
+    private static void splitInto(String s, int end, List<String> out) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= end; i++) {
+            char c = i < end ? s.charAt(i) : ' ';
+            if (Character.isLetter(c)) {
+                word.append(ContactIndex.fold(c));
+            } else if (word.length() > 0) {
+                out.add(word.toString());
+                word.setLength(0);
+            }
+        }
+    }
+
+    /**
+     * Hashes of the strings left by deleting up to {@code maxDeletes} chars from the first
+     * {@link #PREFIX} chars of {@code word}; strings under 2 chars are never looked up and are
+     * skipped. Returns how many hashes were written.
+     */
+    private static int deleteHashes(String word, int maxDeletes, long[] out) {
+        int m = Math.min(word.length(), PREFIX);
+        int n = 0;
+        out[n++] = hash(word, m, -1, -1);
+        if (maxDeletes >= 1 && m - 1 >= 2) {
+            for (int i = 0; i < m; i++) out[n++] = hash(word, m, i, -1);
+        }
+        if (maxDeletes >= 2 && m - 2 >= 2) {
+            for (int i = 0; i < m; i++) {
+                for (int j = i + 1; j < m; j++) out[n++] = hash(word, m, i, j);
+            }
+        }
+        return n;
+    }
+
+    /** FNV-1a over the first {@code m} chars, leaving out positions {@code skip1} and {@code skip2}. */
+    private static long hash(String word, int m, int skip1, int skip2) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < m; i++) {
+            if (i == skip1 || i == skip2) continue;
+            h = (h ^ word.charAt(i)) * 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /**
+     * Edit distance counting a swap of adjacent letters as one edit (optimal string alignment), or
+     * {@code max + 1} as soon as it must exceed {@code max}.
+     */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) return max + 1;
+        int[] prev2 = new int[b.length() + 1];
+        int[] prev = new int[b.length() + 1];
+        int[] cur = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    cur[j] = Math.min(cur[j], prev2[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, cur[j]);
+            }
+            if (rowMin > max) return max + 1;
+            int[] t = prev2;
+            prev2 = prev;
+            prev = cur;
+            cur = t;
+        }
+        return Math.min(prev[b.length()], max + 1);
+    }
+
+    /**
+     * Multimap from delete hash to word ids: an open-addressing table of chain heads over
+     * parallel entry arrays, so millions of entries cost a few ints each rather than objects.
+     */
+    private static final class DeleteTable {
+        long[] keys = new long[1024];
+        int[] heads = new int[1024];          // 1 + first entry of the key's chain, 0 for a free slot
+        int[] entryWord = new int[1024];
+        int[] entryNext = new int[1024];      // 1 + next entry, 0 at the end of the chain
+        int size;
+        int entries;
+
+        void add(long key, int word) {
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (heads[i] != 0 && keys[i] != key) i = (i + 1) & mask;
+            if (heads[i] != 0 && entryWord[heads[i] - 1] == word) return; // another way to delete down to the same string
+            if (entries == entryWord.length) {
+                entryWord = Arrays.copyOf(entryWord, entries * 2);
+                entryNext = Arrays.copyOf(entryNext, entries * 2);
+            }
+            entryWord[entries] = word;
+            entryNext[entries] = heads[i];
+            if (heads[i] == 0) {
+                keys[i] = key;
+                size++;
+            }
+            heads[i] = ++entries;
+            if (size * 2 > keys.length) resize();
+        }
+
+        /** Handle of the first entry for {@code key}, or 0. */
+        int first(long key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); heads[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) return heads[i];
+            }
+            return 0;
+        }
+
+        int next(int entry) { return entryNext[entry - 1]; }
+        int word(int entry) { return entryWord[entry - 1]; }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldHeads = heads;
+            keys = new long[oldKeys.length * 2];
+            heads = new int[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldHeads[j] == 0) continue;
+                int i = slot(oldKeys[j], mask);
+                while (heads[i] != 0) i = (i + 1) & mask;
+                keys[i] = oldKeys[j];
+                heads[i] = oldHeads[j];
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ContactDirectory;
+
+import Common.Bench;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Latency of fuzzy search on directories of generated names, reported as percentiles because the
+ * target is a tail latency (p99 in single-digit milliseconds at 5M contacts).
+ * Names combine 400 first names with 20,000 surnames built from syllables, emails are
+ * "first.last123@example.com", and each query misspells a random contact's name with one or two
+ * edits. The {@link FuzzyIndex} is timed directly: turning the top 10 positions into contacts
+ * adds only a list lookup per result.
+ * Usage: java ContactDirectory.FuzzySearchBenchmark [maxSize]
+ */
+public class FuzzySearchBenchmark {
+    private static final int[] SIZES = {1_000, 10_000, 100_000, 1_000_000, 5_000_000};
+    private static final int QUERIES = 20_000;
+    private static final int LIMIT = 10;
+    private static final String[] SYLLABLES = {"an", "ber", "ca", "del", "er", "fi", "gar", "ha", "in", "jo",
+            "ka", "lo", "man", "ne", "or", "pa", "ri", "sa", "ton", "vi"};
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        String[] first = new String[400];
+        String[] last = new String[20_000];
+        for (int i = 0; i < first.length; i++) first[i] = capitalize(word(random, 2));
+        for (int i = 0; i < last.length; i++) last[i] = capitalize(word(random, 2 + random.nextInt(3)));
+
+        Bench.header();
+        FuzzyIndex index = new FuzzyIndex();
+        int created = 0;
+        for (int size : Bench.sizes(args, SIZES, 5_000_000)) {
+            for (; created < size; created++) {
+                String f = first[random.nextInt(first.length)];
+                String l = last[random.nextInt(last.length)];
+                index.add(created, f + " " + l, f.toLowerCase() + "." + l.toLowerCase() + created % 1000 + "@example.com");
+            }
+            String[] queries = new String[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                queries[i] = typo(random, first[random.nextInt(first.length)]) + " " + typo(random, last[random.nextInt(last.length)]);
+            }
+            for (String q : queries) Bench.consume(index.search(q, LIMIT).length); // warm-up
+            long[] nanos = new long[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                long start = System.nanoTime();
+                Bench.consume(index.search(queries[i], LIMIT).length);
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            Bench.report("searchFuzzy top-10 p50", size, nanos[QUERIES / 2]);
+            Bench.report("searchFuzzy top-10 p99", size, nanos[QUERIES * 99 / 100]);
+            Bench.report("searchFuzzy top-10 max", size, nanos[QUERIES - 1]);
+        }
+    }
+
+    private static String word(Random random, int syllables) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < syllables; i++) sb.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        return sb.toString();
+    }
+
+    private static String capitalize(String s) {
+        return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+
+    /** One or two random insertions, deletions or substitutions. */
+    private static String typo(Random random, String s) {
+        StringBuilder sb = new StringBuilder(s);
+        int edits = 1 + random.nextInt(2);
+        for (int e = 0; e < edits && sb.length() > 1; e++) {
+            int at = random.nextInt(sb.length());
+            char c = (char) ('a' + random.nextInt(26));
+            switch (random.nextInt(3)) {
+                case 0 -> sb.insert(at, c);
+                case 1 -> sb.deleteCharAt(at);
+                default -> sb.setCharAt(at, c);
+            }
+        }
+        return sb.toString();
+    }
+}
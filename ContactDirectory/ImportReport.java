@@ -0,0 +1,44 @@
+package ContactDirectory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: how many rows were added, skipped as duplicates or rejected as
+ * invalid, plus the first {@link #MAX_DETAILS} skipped rows with their line numbers.
+ */
+public class ImportReport {
+    public static final int MAX_DETAILS = 100;
+
+    private long imported;
+    private long duplicates;
+    private long invalid;
+    private final List<String> details = new ArrayList<>();
+
+    void added() { imported++; }
+
+    void duplicate(long line, String reason) {
+        duplicates++;
+        detail(line, reason);
+    }
+
+    void invalid(long line, String reason) {
+        invalid++;
+        detail(line, reason);
+    }
+
+    private void detail(long line, String reason) {
+        if (details.size() < MAX_DETAILS) details.add("line " + line + ": " + reason);
+    }
+
+    public long getImported() { return imported; }
+    public long getDuplicates() { return duplicates; }
+    public long getInvalid() { return invalid; }
+    public List<String> getDetails() { return Collections.unmodifiableList(details); }
+
+    @Override
+    public String toString() {
+        return String.format("Imported %,d contact(s); skipped %,d duplicate(s) and %,d invalid row(s).", imported, duplicates, invalid);
+    }
+}
@@ -0,0 +1,150 @@
+package ContactDirectory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link ContactService} holding contacts in memory.
+ * Searches of three or more characters go through a {@link ContactIndex}, fuzzy searches through a
+ * {@link FuzzyIndex}, and duplicate checks
+ * through sets of case-folded names and normalized phones; contacts must therefore be edited
+ * through this service so the index and the sets stay in sync.
+ * Thread-safe: every method locks the service, and every {@link Contact} handed out is a snapshot
+ * taken under that lock, so an edit never changes a contact a caller already holds.
+ */
+public class InMemoryContactService implements ContactService {
+
+    private final List<Contact> contacts = new ArrayList<>();
+    private final Map<Integer, Integer> positionById = new HashMap<>();
+    private final ContactIndex index = new ContactIndex();
+    private final FuzzyIndex fuzzy = new FuzzyIndex();
+    private final Set<String> names = new HashSet<>();
+    private final Set<String> phones = new HashSet<>();
+
+    @Override
+    public synchronized Contact addContact(String name, String phone, String email, String address)
+            throws DuplicateContactException, InvalidEmailException, InvalidPhoneException {
+        // duplicate check by name & phone
+        if (name != null && names.contains(nameKey(name)) || phone != null && phones.contains(phoneKey(phone))) {
+            throw new DuplicateContactException("Contact already exists.");
+        }
+        Contact c = new Contact(name, phone, email, address);
+        store(c);
+        return c.snapshot();
+    }
+
+    @Override
+    public synchronized ImportReport importContacts(BufferedReader csv) throws IOException {
+        return CsvImport.read(csv, (name, phone, email, address) -> {
+            if (names.contains(nameKey(name))) return "duplicate name " + name;
+            if (phones.contains(phoneKey(phone))) return "duplicate phone " + phone;
+            store(new Contact(name, phone, email, address));
+            return null;
+        });
+    }
+
+    /** Appends a validated, non-duplicate contact and registers it with every lookup structure. */
+    private void store(Contact c) {
+        int position = contacts.size();
+        contacts.add(c);
+        positionById.put(c.getId(), position);
+        names.add(nameKey(c.getName()));
+        phones.add(phoneKey(c.getPhone()));
+        index.add(position, c.getName(), c.getPhone(), c.getEmail());
+        fuzzy.add(position, c.getName(), c.getEmail());
+    }
+
+    /** The name case-folded char by char, so two names have equal keys exactly when equalsIgnoreCase. */
+    static String nameKey(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (ContactIndex.fold(c) != c) {
+                char[] folded = name.toCharArray();
+                for (int j = i; j < folded.length; j++) folded[j] = ContactIndex.fold(folded[j]);
+                return new String(folded);
+            }
+        }
+        return name;
+    }
+
+    /** The phone without its optional leading '+', so "+9779800000000" and "9779800000000" collide. */
+    static String phoneKey(String phone) {
+        return phone.startsWith("+") ? phone.substring(1) : phone;
+    }
+
+    @Override
+    public synchronized List<Contact> searchByKeyword(String keyword) {
+        List<Contact> res = new ArrayList<>();
+        int[] candidates = index.candidates(keyword);
+        if (candidates == null) { // too short for trigrams
+            for (Contact c : contacts) {
+                if (matches(c, keyword)) res.add(c.snapshot());
+            }
+            return res;
+        }
+        for (int position : candidates) { // trigram hits are a superset; confirm the real substring
+            Contact c = contacts.get(position);
+            if (matches(c, keyword)) res.add(c.snapshot());
+        }
+        return res;
+    }
+
+    @Override
+    public synchronized List<Contact> searchFuzzy(String query, int limit) {
+        List<Contact> res = new ArrayList<>();
+        for (int position : fuzzy.search(query, limit)) res.add(contacts.get(position).snapshot());
+        return res;
+    }
+
+    private static boolean matches(Contact c, String keyword) {
+        return ContactIndex.containsIgnoreCase(c.getName(), keyword) ||
+                ContactIndex.containsIgnoreCase(c.getPhone(), keyword) ||
+                ContactIndex.containsIgnoreCase(c.getEmail(), keyword);
+    }
+
+    @Override
+    public synchronized Contact findById(int id) {
+        Contact c = find(id);
+        return c == null ? null : c.snapshot();
+    }
+
+    private Contact find(int id) {
+        Integer position = positionById.get(id);
+        return position == null ? null : contacts.get(position);
+    }
+
+    @Override
+    public synchronized Contact editContact(int id, String phone, String email)
+            throws ContactNotFoundException, DuplicateContactException, InvalidEmailException, InvalidPhoneException {
+        Contact c = find(id);
+        if (c == null) throw new ContactNotFoundException("ID not found");
+        String oldPhone = c.getPhone();
+        String oldEmail = c.getEmail();
+        boolean newPhone = phone != null && !phone.isBlank() && !phoneKey(phone).equals(phoneKey(oldPhone));
+        if (newPhone && phones.contains(phoneKey(phone))) throw new DuplicateContactException("Phone belongs to another contact.");
+        if (email != null && !email.isBlank() && !Contact.isValidEmail(email)) throw new InvalidEmailException("Invalid email");
+        if (phone != null && !phone.isBlank()) c.setPhone(phone); // validates before changing anything
+        if (newPhone) {
+            phones.remove(phoneKey(oldPhone));
+            phones.add(phoneKey(c.getPhone()));
+        }
+        if (email != null && !email.isBlank()) c.setEmail(email);
+        int position = positionById.get(id);
+        index.update(position, c.getName(), oldPhone, oldEmail, c.getName(), c.getPhone(), c.getEmail());
+        fuzzy.update(position, c.getName(), oldEmail, c.getName(), c.getEmail());
+        return c.snapshot();
+    }
+
+    @Override
+    public synchronized List<Contact> listContacts() {
+        List<Contact> copies = new ArrayList<>(contacts.size());
+        for (Contact c : contacts) copies.add(c.snapshot());
+        return copies;
+    }
+}
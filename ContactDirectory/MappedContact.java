@@ -0,0 +1,35 @@
+package ContactDirectory;
+
+/**
+ * A {@link Contact} whose fields stay in a {@link ContactStore} record and are decoded on each
+ * access, so listing millions of contacts does not keep millions of Strings alive.
+ * Setters validate and then write through to the record; like {@link Contact}'s they are
+ * package-private, so only {@link MappedContactService} edits a record.
+ */
+class MappedContact extends Contact {
+    private final ContactStore store;
+    private final int slot;
+
+    MappedContact(ContactStore store, int slot) {
+        super(ContactStore.idOf(slot));
+        this.store = store;
+        this.slot = slot;
+    }
+
+    @Override public String getName() { return store.read(slot, ContactStore.NAME); }
+    @Override public String getPhone() { return store.read(slot, ContactStore.PHONE); }
+    @Override public String getEmail() { return store.read(slot, ContactStore.EMAIL); }
+    @Override public String getAddress() { return store.read(slot, ContactStore.ADDRESS); }
+
+    @Override
+    void setPhone(String phone) throws InvalidPhoneException {
+        if (!isValidPhone(phone)) throw new InvalidPhoneException("Invalid phone");
+        store.write(slot, ContactStore.PHONE, ContactStore.PHONE_MAX, phone);
+    }
+
+    @Override
+    void setEmail(String email) throws InvalidEmailException {
+        if (!isValidEmail(email)) throw new InvalidEmailException("Invalid email");
+        store.write(slot, ContactStore.EMAIL, ContactStore.EMAIL_MAX, email);
+    }
+}
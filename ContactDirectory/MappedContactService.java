@@ -0,0 +1,184 @@
+package ContactDirectory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link ContactService} persisted in a {@link ContactStore} file.
+ * Opening reads only the file header, and contacts are handed out as {@link MappedContact} views
+ * that decode a field when it is read, so start-up time and heap use do not grow with the
+ * directory. The duplicate sets, the search {@link ContactIndex} and the {@link FuzzyIndex} are
+ * each built by one pass over the file the first time they are needed (first add or edit, first
+ * search of three or more characters, first fuzzy search). Contacts must be edited through this
+ * service so those stay in sync.
+ * Thread-safe: every method locks the service. The views it returns read the {@link ContactStore}
+ * later, outside that lock, relying on the store's own lock for each field. So a view shows edits
+ * made after it was handed out, and a listing's size is fixed when it is returned.
+ */
+public class MappedContactService implements ContactService, Closeable {
+
+    private final ContactStore store;
+    private Set<String> names;   // null until first needed
+    private Set<String> phones;
+    private ContactIndex index;
+    private FuzzyIndex fuzzy;
+
+    public MappedContactService(Path file) throws IOException {
+        this.store = new ContactStore(file);
+    }
+
+    @Override
+    public synchronized Contact addContact(String name, String phone, String email, String address)
+            throws DuplicateContactException, InvalidEmailException, InvalidPhoneException {
+        if (name == null || name.isBlank()) throw new IllegalArgumentException("Name required");
+        if (!Contact.isValidPhone(phone)) throw new InvalidPhoneException("Invalid phone number");
+        if (!Contact.isValidEmail(email)) throw new InvalidEmailException("Invalid email");
+        if (add(name, phone, email, address == null ? "" : address) != null) {
+            throw new DuplicateContactException("Contact already exists.");
+        }
+        return new MappedContact(store, store.size() - 1);
+    }
+
+    @Override
+    public synchronized ImportReport importContacts(BufferedReader csv) throws IOException {
+        return CsvImport.read(csv, this::add);
+    }
+
+    /** Appends a validated contact, or returns why it is a duplicate. */
+    private String add(String name, String phone, String email, String address) {
+        loadDuplicateSets();
+        String nameKey = InMemoryContactService.nameKey(name);
+        String phoneKey = InMemoryContactService.phoneKey(phone);
+        if (names.contains(nameKey)) return "duplicate name " + name;
+        if (phones.contains(phoneKey)) return "duplicate phone " + phone;
+        ContactStore.checkFits(name, phone, email, address);
+        int slot = store.append(name, phone, email, address);
+        names.add(nameKey);
+        phones.add(phoneKey);
+        if (index != null) index.add(slot, name, phone, email);
+        if (fuzzy != null) fuzzy.add(slot, name, email);
+        return null;
+    }
+
+    @Override
+    public synchronized List<Contact> searchByKeyword(String keyword) {
+        List<Contact> res = new ArrayList<>();
+        int[] candidates = keyword.length() < ContactIndex.GRAM ? null : loadIndex().candidates(keyword);
+        if (candidates == null) { // too short for trigrams
+            for (int slot = 0; slot < store.size(); slot++) {
+                if (matches(slot, keyword)) res.add(new MappedContact(store, slot));
+            }
+            return res;
+        }
+        for (int slot : candidates) { // trigram hits are a superset; confirm the real substring
+            if (matches(slot, keyword)) res.add(new MappedContact(store, slot));
+        }
+        return res;
+    }
+
+    @Override
+    public synchronized List<Contact> searchFuzzy(String query, int limit) {
+        List<Contact> res = new ArrayList<>();
+        for (int slot : loadFuzzy().search(query, limit)) res.add(new MappedContact(store, slot));
+        return res;
+    }
+
+    private boolean matches(int slot, String keyword) {
+        return ContactIndex.containsIgnoreCase(store.read(slot, ContactStore.NAME), keyword) ||
+                ContactIndex.containsIgnoreCase(store.read(slot, ContactStore.PHONE), keyword) ||
+                ContactIndex.containsIgnoreCase(store.read(slot, ContactStore.EMAIL), keyword);
+    }
+
+    @Override
+    public synchronized Contact findById(int id) {
+        int slot = store.slotOf(id);
+        return slot < 0 ? null : new MappedContact(store, slot);
+    }
+
+    @Override
+    public synchronized Contact editContact(int id, String phone, String email)
+            throws ContactNotFoundException, DuplicateContactException, InvalidEmailException, InvalidPhoneException {
+        int slot = store.slotOf(id);
+        if (slot < 0) throw new ContactNotFoundException("ID not found");
+        loadDuplicateSets();
+        Contact c = new MappedContact(store, slot);
+        String name = c.getName();
+        String oldPhone = c.getPhone();
+        String oldEmail = c.getEmail();
+        String oldPhoneKey = InMemoryContactService.phoneKey(oldPhone);
+        boolean newPhone = phone != null && !phone.isBlank() && !InMemoryContactService.phoneKey(phone).equals(oldPhoneKey);
+        if (newPhone && phones.contains(InMemoryContactService.phoneKey(phone))) {
+            throw new DuplicateContactException("Phone belongs to another contact.");
+        }
+        if (email != null && !email.isBlank()) {
+            if (!Contact.isValidEmail(email)) throw new InvalidEmailException("Invalid email");
+            ContactStore.checkFits(name, oldPhone, email, "");
+        }
+        if (phone != null && !phone.isBlank()) c.setPhone(phone); // validates before changing anything
+        if (newPhone) {
+            phones.remove(oldPhoneKey);
+            phones.add(InMemoryContactService.phoneKey(phone));
+        }
+        if (email != null && !email.isBlank()) c.setEmail(email);
+        if (index != null) index.update(slot, name, oldPhone, oldEmail, name, c.getPhone(), c.getEmail());
+        if (fuzzy != null) fuzzy.update(slot, name, oldEmail, name, c.getEmail());
+        return c;
+    }
+
+    /** A fixed-size view of the contacts present now; each element is decoded when it is read. */
+    @Override
+    public synchronized List<Contact> listContacts() {
+        int size = store.size();
+        return new AbstractList<>() {
+            @Override public Contact get(int slot) {
+                if (slot < 0 || slot >= size) throw new IndexOutOfBoundsException(slot);
+                return new MappedContact(store, slot);
+            }
+            @Override public int size() { return size; }
+        };
+    }
+
+    /** Writes pending changes to disk and closes the file. */
+    @Override
+    public synchronized void close() throws IOException {
+        store.close();
+    }
+
+    private void loadDuplicateSets() {
+        if (names != null) return;
+        names = new HashSet<>();
+        phones = new HashSet<>();
+        for (int slot = 0; slot < store.size(); slot++) {
+            names.add(InMemoryContactService.nameKey(store.read(slot, ContactStore.NAME)));
+            phones.add(InMemoryContactService.phoneKey(store.read(slot, ContactStore.PHONE)));
+        }
+    }
+
+    private ContactIndex loadIndex() {
+        if (index == null) {
+            index = new ContactIndex();
+            for (int slot = 0; slot < store.size(); slot++) {
+                index.add(slot, store.read(slot, ContactStore.NAME), store.read(slot, ContactStore.PHONE),
+                        store.read(slot, ContactStore.EMAIL));
+            }
+        }
+        return index;
+    }
+
+    private FuzzyIndex loadFuzzy() {
+        if (fuzzy == null) {
+            fuzzy = new FuzzyIndex();
+            for (int slot = 0; slot < store.size(); slot++) {
+                fuzzy.add(slot, store.read(slot, ContactStore.NAME), store.read(slot, ContactStore.EMAIL));
+            }
+        }
+        return fuzzy;
+    }
+}
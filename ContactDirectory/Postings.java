@@ -0,0 +1,35 @@
+package ContactDirectory;
+
+import java.util.Arrays;
+
+/** Growable sorted array of contact positions, used by {@link ContactIndex} and {@link FuzzyIndex}. */
+final class Postings {
+    int[] docs = new int[4];
+    int size;
+
+    void insert(int doc) {
+        if (size > 0 && docs[size - 1] < doc) { // the common case: a new contact
+            append(doc);
+            return;
+        }
+        int at = Arrays.binarySearch(docs, 0, size, doc);
+        if (at >= 0) return;
+        at = -at - 1;
+        if (size == docs.length) docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+        System.arraycopy(docs, at, docs, at + 1, size - at);
+        docs[at] = doc;
+        size++;
+    }
+
+    void append(int doc) {
+        if (size == docs.length) docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+        docs[size++] = doc;
+    }
+
+    void remove(int doc) {
+        int at = Arrays.binarySearch(docs, 0, size, doc);
+        if (at < 0) return;
+        System.arraycopy(docs, at + 1, docs, at, size - at - 1);
+        size--;
+    }
+}
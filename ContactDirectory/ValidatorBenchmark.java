@@ -0,0 +1,116 @@
+package ContactDirectory;
+
+import Common.Bench;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Checks that {@link Contact#isValidEmail} and {@link Contact#isValidPhone} accept exactly what
+ * {@code EMAIL_PATTERN} and {@code PHONE_PATTERN} accept, then times both against the regexes.
+ * The check covers every string up to a few characters over an alphabet of the interesting
+ * characters, plus random mutations of valid addresses and numbers; any disagreement is printed
+ * and the run exits with status 1.
+ * Usage: java ContactDirectory.ValidatorBenchmark
+ */
+public class ValidatorBenchmark {
+
+    private static final String EMAIL_ALPHABET = "aZ0_.-@+ \u00e9\n";
+    private static final String PHONE_ALPHABET = "+09a \u0663";
+
+    public static void main(String[] args) {
+        long checked = 0;
+        int mismatches = 0;
+        List<String> emails = new ArrayList<>();
+        List<String> phones = new ArrayList<>();
+        exhaustive(EMAIL_ALPHABET, 6, emails);
+        exhaustive(PHONE_ALPHABET, 8, phones);
+        Random random = new Random(42);
+        for (int i = 0; i < 1_000_000; i++) {
+            emails.add(mutate(random, sampleEmail(random), EMAIL_ALPHABET));
+            phones.add(mutate(random, samplePhone(random), PHONE_ALPHABET));
+        }
+        for (String s : emails) {
+            checked++;
+            if (Contact.isValidEmail(s) != Contact.EMAIL_PATTERN.matcher(s).matches()) mismatches += report("email", s);
+        }
+        for (String s : phones) {
+            checked++;
+            if (Contact.isValidPhone(s) != Contact.PHONE_PATTERN.matcher(s).matches()) mismatches += report("phone", s);
+        }
+        System.out.printf("Differential check: %,d inputs, %d mismatch(es)%n", checked, mismatches);
+        if (mismatches > 0) System.exit(1);
+
+        // timed on realistic input: mostly valid, as in a bulk import
+        String[] emailSample = new String[1_024];
+        String[] phoneSample = new String[1_024];
+        for (int i = 0; i < emailSample.length; i++) {
+            emailSample[i] = i % 10 == 0 ? mutate(random, sampleEmail(random), EMAIL_ALPHABET) : sampleEmail(random);
+            phoneSample[i] = i % 10 == 0 ? mutate(random, samplePhone(random), PHONE_ALPHABET) : samplePhone(random);
+        }
+        Bench.header("inputs");
+        Bench.measurePerItem("isValidEmail via regex", emailSample.length, all(emailSample, s -> Contact.EMAIL_PATTERN.matcher(s).matches()));
+        Bench.measurePerItem("isValidEmail hand-written", emailSample.length, all(emailSample, Contact::isValidEmail));
+        Bench.measurePerItem("isValidPhone via regex", phoneSample.length, all(phoneSample, s -> Contact.PHONE_PATTERN.matcher(s).matches()));
+        Bench.measurePerItem("isValidPhone hand-written", phoneSample.length, all(phoneSample, Contact::isValidPhone));
+    }
+
+    private static int report(String kind, String input) {
+        System.out.println("MISMATCH " + kind + ": \"" + input.replace("\n", "\\n") + "\"");
+        return 1;
+    }
+
+    /** Adds every string of length 0..maxLength over the alphabet. */
+    private static void exhaustive(String alphabet, int maxLength, List<String> out) {
+        char[] buf = new char[maxLength];
+        for (int length = 0; length <= maxLength; length++) fill(alphabet, buf, 0, length, out);
+    }
+
+    private static void fill(String alphabet, char[] buf, int at, int length, List<String> out) {
+        if (at == length) {
+            out.add(new String(buf, 0, length));
+            return;
+        }
+        for (int i = 0; i < alphabet.length(); i++) {
+            buf[at] = alphabet.charAt(i);
+            fill(alphabet, buf, at + 1, length, out);
+        }
+    }
+
+    private static String sampleEmail(Random random) {
+        String[] locals = {"person", "first.last", "a_b-c", "x", "..", "user123"};
+        String[] domains = {"example", "mail.co", "a-b.c", "x", ".", "sub.domain"};
+        String[] tlds = {"com", "io", "museum", "c", "longtld", "np"};
+        return locals[random.nextInt(locals.length)] + random.nextInt(1_000) + "@"
+                + domains[random.nextInt(domains.length)] + "." + tlds[random.nextInt(tlds.length)];
+    }
+
+    private static String samplePhone(Random random) {
+        StringBuilder sb = new StringBuilder(random.nextBoolean() ? "+" : "");
+        int digits = 5 + random.nextInt(13);
+        for (int i = 0; i < digits; i++) sb.append((char) ('0' + random.nextInt(10)));
+        return sb.toString();
+    }
+
+    /** Leaves half the inputs alone; otherwise inserts, deletes or replaces one character. */
+    private static String mutate(Random random, String s, String alphabet) {
+        if (random.nextBoolean() || s.isEmpty()) return s;
+        int at = random.nextInt(s.length());
+        char c = alphabet.charAt(random.nextInt(alphabet.length()));
+        return switch (random.nextInt(3)) {
+            case 0 -> s.substring(0, at) + c + s.substring(at);
+            case 1 -> s.substring(0, at) + s.substring(at + 1);
+            default -> s.substring(0, at) + c + s.substring(at + 1);
+        };
+    }
+
+    private static LongSupplier all(String[] inputs, Predicate<String> valid) {
+        return () -> {
+            long ok = 0;
+            for (String s : inputs) if (valid.test(s)) ok++;
+            return ok;
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package ExpenseTracker;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Differential check for {@link ColumnarExpenseService}: the same random expenses go into it and
+ * into {@link InMemoryExpenseService}, then every total and listing must agree, and both must
+ * reject an invalid month. Expenses are compared by their text without the id, since the two
+ * services number their copies separately.
+ * Usage: java ExpenseTracker.ColumnarExpenseCheck [expenses] [seed]
+ */
+public class ColumnarExpenseCheck {
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 7;
+
+        Random rnd = new Random(seed);
+        ExpenseService rows = new InMemoryExpenseService();
+        ExpenseService columns = new ColumnarExpenseService();
+        List<String> categories = new ArrayList<>(rows.categories());
+        categories.add("Unlisted");
+        LocalDate start = LocalDate.of(2023, 1, 1);
+        for (int i = 0; i < count; i++) {
+            long cents = 1 + rnd.nextInt(100_000);
+            String category = categories.get(rnd.nextInt(categories.size()));
+            LocalDate date = start.plusDays(rnd.nextInt(900));
+            rows.addExpense(cents, category, date, "Check " + i);
+            columns.addExpense(cents, category, date, "Check " + i);
+        }
+
+        int mismatches = 0;
+        for (int i = 0; i < 3_000; i++) {
+            LocalDate from = start.plusDays(rnd.nextInt(1_000) - 50);
+            LocalDate to = from.plusDays(rnd.nextInt(400) - 20);
+            String category = rnd.nextInt(4) == 0 ? null : categories.get(rnd.nextInt(categories.size())).toLowerCase();
+            if (rows.rangeTotal(category, from, to) != columns.rangeTotal(category, from, to)) mismatches++;
+        }
+        for (String category : categories) {
+            if (rows.categoryTotal(category) != columns.categoryTotal(category)) mismatches++;
+        }
+        for (int year = 2022; year <= 2026; year++) {
+            for (int month = 1; month <= 12; month++) {
+                if (rows.monthlyTotal(year, month, null) != columns.monthlyTotal(year, month, null)) mismatches++;
+                if (rows.monthlyTotal(year, month, "Food") != columns.monthlyTotal(year, month, "Food")) mismatches++;
+                if (!text(rows.expensesForMonth(year, month)).equals(text(columns.expensesForMonth(year, month)))) mismatches++;
+            }
+        }
+        if (!text(rows.listExpenses()).equals(text(columns.listExpenses()))) mismatches++;
+        for (int month : new int[] {0, 13}) {
+            if (!rejects(() -> columns.expensesForMonth(2023, month))) mismatches++;
+            if (!rejects(() -> columns.monthlyTotal(2023, month, null))) mismatches++;
+        }
+
+        if (mismatches > 0) {
+            System.out.println("FAILED: " + mismatches + " results differ from InMemoryExpenseService");
+            System.exit(1);
+        }
+        System.out.printf("OK: columnar results match InMemoryExpenseService over %d expenses%n", count);
+    }
+
+    private static boolean rejects(Runnable call) {
+        try {
+            call.run();
+            return false;
+        } catch (DateTimeException expected) {
+            return true;
+        }
+    }
+
+    private static List<String> text(List<Expense> expenses) {
+        List<String> lines = new ArrayList<>(expenses.size());
+        for (Expense e : expenses) lines.add(e.toString().replaceFirst("#\\d+", ""));
+        return lines;
+    }
+}
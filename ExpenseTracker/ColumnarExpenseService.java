@@ -0,0 +1,186 @@
+package ExpenseTracker;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ExpenseService} storing expenses column by column instead of as objects: amounts in a
+ * {@code long[]} of cents, dates in an {@code int[]} of epoch days, categories as one-byte ids
+ * into {@link InMemoryExpenseService#CATEGORIES} (the dictionary), plus ids and descriptions.
+ * An expense costs about 21 bytes plus its description, against some 70 for an {@link Expense}
+ * and its {@link LocalDate}, and a date-range total is one pass over two or three flat arrays
+ * with no pointers to follow. {@link Expense} objects are built only for the rows a listing returns.
+ * Dates must therefore have an epoch day that fits in an int (roughly years -5,877,000 to
+ * 5,881,000); others are rejected.
+ * Whole-category and whole-month totals come from an {@link ExpenseRollup}, as in
+ * {@link InMemoryExpenseService}.
+ * Thread-safe: adding and every total or listing lock the service. {@link #categories()} and
+ * {@link #budgetCents} read only constant tables and take no lock. {@link #listExpenses()} returns
+ * a view instead of a copy. Its size is fixed when it is returned, and each element is built
+ * later, when it is read, under the service lock. That is safe because a row never changes once
+ * added.
+ */
+public class ColumnarExpenseService implements ExpenseService {
+    private static final List<String> CATEGORIES = InMemoryExpenseService.CATEGORIES;
+
+    private int size;
+    private int[] ids = new int[1024];
+    private long[] amounts = new long[1024];
+    private int[] days = new int[1024];
+    private byte[] categories = new byte[1024];
+    private String[] descriptions = new String[1024];
+    private final ExpenseRollup rollup = new ExpenseRollup(CATEGORIES.size());
+    private final Map<Long, RowList> rowsByMonth = new HashMap<>(); // ExpenseRollup.monthKey -> rows
+
+    /** Row numbers of one month, in the order added. */
+    private static final class RowList {
+        int[] rows = new int[16];
+        int size;
+
+        void add(int row) {
+            if (size == rows.length) rows = Arrays.copyOf(rows, size * 2);
+            rows[size++] = row;
+        }
+    }
+
+    @Override
+    public List<String> categories() {
+        return CATEGORIES;
+    }
+
+    @Override
+    public synchronized Expense addExpense(long amountCents, String category, LocalDate date, String description) {
+        if (!CATEGORIES.contains(category)) category = "Other";
+        if (date != null && (date.toEpochDay() < Integer.MIN_VALUE || date.toEpochDay() > Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException("Date out of range: " + date);
+        }
+        Expense exp = new Expense(amountCents, category, date, description); // validates and numbers it
+        if (size == amounts.length) grow();
+        int c = CATEGORIES.indexOf(category);
+        ids[size] = exp.getId();
+        amounts[size] = amountCents;
+        days[size] = (int) exp.getDate().toEpochDay();
+        categories[size] = (byte) c;
+        descriptions[size] = exp.getDescription();
+        rollup.add(c, exp.getDate(), amountCents);
+        rowsByMonth.computeIfAbsent(ExpenseRollup.monthKey(exp.getDate().getYear(), exp.getDate().getMonthValue()), k -> new RowList()).add(size);
+        size++;
+        return exp;
+    }
+
+    @Override
+    public synchronized long categoryTotal(String category) {
+        int c = InMemoryExpenseService.categoryIndex(category);
+        return c < 0 ? 0 : rollup.categoryTotal(c);
+    }
+
+    @Override
+    public synchronized long monthlyTotal(int year, int month, String category) {
+        YearMonth.of(year, month); // rejects month 13 as expensesForMonth does, rather than reading next January
+        if (category == null) return rollup.monthlyTotal(year, month, -1);
+        int c = InMemoryExpenseService.categoryIndex(category);
+        return c < 0 ? 0 : rollup.monthlyTotal(year, month, c);
+    }
+
+    @Override
+    public synchronized long rangeTotal(String category, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) return 0;
+        // no stored day lies outside the int range, so clamp the bounds to it before narrowing
+        if (from.toEpochDay() > Integer.MAX_VALUE || to.toEpochDay() < Integer.MIN_VALUE) return 0;
+        int first = (int) Math.max(from.toEpochDay(), Integer.MIN_VALUE);
+        int last = (int) Math.min(to.toEpochDay(), Integer.MAX_VALUE);
+        if (category == null) return sum(amounts, days, size, first, last);
+        int c = InMemoryExpenseService.categoryIndex(category);
+        return c < 0 ? 0 : sum(amounts, days, categories, size, first, last, (byte) c);
+    }
+
+    /**
+     * Sum of {@code amounts[i]} over rows whose day is in [first, last]. The range test is one
+     * unsigned compare and the add is branch-free, and four independent sums let the CPU overlap
+     * iterations instead of waiting on one running total.
+     */
+    static long sum(long[] amounts, int[] days, int n, int first, int last) {
+        int span = last - first;
+        long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            s0 += Integer.compareUnsigned(days[i] - first, span) <= 0 ? amounts[i] : 0;
+            s1 += Integer.compareUnsigned(days[i + 1] - first, span) <= 0 ? amounts[i + 1] : 0;
+            s2 += Integer.compareUnsigned(days[i + 2] - first, span) <= 0 ? amounts[i + 2] : 0;
+            s3 += Integer.compareUnsigned(days[i + 3] - first, span) <= 0 ? amounts[i + 3] : 0;
+        }
+        for (; i < n; i++) s0 += Integer.compareUnsigned(days[i] - first, span) <= 0 ? amounts[i] : 0;
+        return s0 + s1 + s2 + s3;
+    }
+
+    /** As {@link #sum(long[], int[], int, int, int)}, counting only rows in {@code category}. */
+    static long sum(long[] amounts, int[] days, byte[] categories, int n, int first, int last, byte category) {
+        int span = last - first;
+        long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            s0 += categories[i] == category && Integer.compareUnsigned(days[i] - first, span) <= 0 ? amounts[i] : 0;
+            s1 += categories[i + 1] == category && Integer.compareUnsigned(days[i + 1] - first, span) <= 0 ? amounts[i + 1] : 0;
+            s2 += categories[i + 2] == category && Integer.compareUnsigned(days[i + 2] - first, span) <= 0 ? amounts[i + 2] : 0;
+            s3 += categories[i + 3] == category && Integer.compareUnsigned(days[i + 3] - first, span) <= 0 ? amounts[i + 3] : 0;
+        }
+        for (; i < n; i++) s0 += categories[i] == category && Integer.compareUnsigned(days[i] - first, span) <= 0 ? amounts[i] : 0;
+        return s0 + s1 + s2 + s3;
+    }
+
+    @Override
+    public long budgetCents(String category) {
+        return InMemoryExpenseService.budgetFor(category);
+    }
+
+    /** Oldest first; rows of the same day keep the order they were added. */
+    @Override
+    public synchronized List<Expense> expensesForMonth(int year, int month) {
+        YearMonth.of(year, month); // month 13 must not read next January's rows
+        RowList rows = rowsByMonth.get(ExpenseRollup.monthKey(year, month));
+        if (rows == null) return new ArrayList<>();
+        long[] keys = new long[rows.size]; // day in the high half, row in the low half: sorts by day, then row
+        for (int i = 0; i < rows.size; i++) {
+            int row = rows.rows[i];
+            keys[i] = (long) days[row] << 32 | row;
+        }
+        Arrays.sort(keys);
+        List<Expense> list = new ArrayList<>(keys.length);
+        for (long key : keys) list.add(row((int) key));
+        return list;
+    }
+
+    /** A fixed-size view of the expenses present now; each element is built when it is read. */
+    @Override
+    public synchronized List<Expense> listExpenses() {
+        int n = size;
+        return new AbstractList<>() {
+            @Override public Expense get(int i) {
+                if (i < 0 || i >= n) throw new IndexOutOfBoundsException(i);
+                synchronized (ColumnarExpenseService.this) {
+                    return row(i);
+                }
+            }
+            @Override public int size() { return n; }
+        };
+    }
+
+    private Expense row(int i) {
+        return new Expense(ids[i], amounts[i], CATEGORIES.get(categories[i]), LocalDate.ofEpochDay(days[i]), descriptions[i]);
+    }
+
+    private void grow() {
+        int capacity = amounts.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        days = Arrays.copyOf(days, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+    }
+}
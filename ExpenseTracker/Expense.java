@@ -1,35 +1,46 @@
 package ExpenseTracker;
 
+import Common.Money;
 import java.time.LocalDate;
 
 /**
  * Represents a single expense entry.
+ * The amount is held as a whole number of cents so totals are exact.
  */
 public class Expense {
     private static int NEXT_ID = 1;
 
     private final int id;
-    private final double amount;
+    private final long amountCents;
     private final String category;
     private final LocalDate date;
     private final String description;
 
-    public Expense(double amount, String category, LocalDate date, String description) {
-        if (amount <= 0) throw new IllegalArgumentException("Amount must be positive");
+    public Expense(long amountCents, String category, LocalDate date, String description) {
+        if (amountCents <= 0) throw new IllegalArgumentException("Amount must be positive");
         if (category == null || category.isBlank()) throw new IllegalArgumentException("Category required");
         this.id = NEXT_ID++;
-        this.amount = amount;
+        this.amountCents = amountCents;
         this.category = category;
         this.date = date == null ? LocalDate.now() : date;
         this.description = description == null ? "" : description;
     }
 
+    /** An expense already validated and numbered, rebuilt from stored columns. */
+    Expense(int id, long amountCents, String category, LocalDate date, String description) {
+        this.id = id;
+        this.amountCents = amountCents;
+        this.category = category;
+        this.date = date;
+        this.description = description;
+    }
+
     public int getId() {
         return id;
     }
 
-    public double getAmount() {
-        return amount;
+    public long getAmountCents() {
+        return amountCents;
     }
 
     public String getCategory() {
@@ -46,6 +57,16 @@ public class Expense {
 
     @Override
     public String toString() {
-        return String.format("#%d | %-10s | %s | %.2f", id, category, date, amount);
+        StringBuilder sb = new StringBuilder(48);
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    /** Appends the same text as {@link #toString()}, for bulk listings. */
+    public void appendTo(StringBuilder sb) {
+        sb.append('#').append(id).append(" | ").append(category);
+        for (int i = category.length(); i < 10; i++) sb.append(' ');
+        sb.append(" | ").append(date).append(" | ");
+        Money.appendCents(sb, amountCents);
     }
 }
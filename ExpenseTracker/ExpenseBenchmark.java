@@ -0,0 +1,52 @@
+package ExpenseTracker;
+
+import Common.Bench;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Micro-benchmarks for expense aggregation at growing ledger sizes. Date-range totals are timed
+ * three ways: a stream over the expense objects, the date index of {@link InMemoryExpenseService},
+ * and the flat arrays of {@link ColumnarExpenseService}.
+ * Usage: java ExpenseTracker.ExpenseBenchmark [maxSize]
+ */
+public class ExpenseBenchmark {
+
+    private static final List<String> CATEGORIES = List.of("Food", "Transport", "Entertainment", "Bills", "Other");
+
+    public static void main(String[] args) {
+        Bench.header();
+        ExpenseService expenses = new InMemoryExpenseService();
+        ExpenseService columnar = new ColumnarExpenseService();
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        LocalDate from = LocalDate.of(2021, 1, 1); // one year of the five and a half generated
+        LocalDate to = LocalDate.of(2021, 12, 31);
+        int created = 0;
+        for (int size : Bench.sizes(args)) {
+            for (; created < size; created++) {
+                long amount = 100 + created % 10_000;
+                String category = CATEGORIES.get(created % CATEGORIES.size());
+                LocalDate date = start.plusDays(created % 2_000);
+                expenses.addExpense(amount, category, date, "");
+                columnar.addExpense(amount, category, date, "");
+            }
+            List<Expense> all = expenses.listExpenses();
+            Bench.measure("ExpenseService.categoryTotal", size, () -> expenses.categoryTotal("Food"));
+            Bench.measure("ExpenseService.monthlyTotal", size, () -> expenses.monthlyTotal(2022, 6, "Food"));
+            Bench.measure("expensesForMonth", size, () -> expenses.expensesForMonth(2020, 3).size());
+            Bench.measure("columnar expensesForMonth", size, () -> columnar.expensesForMonth(2020, 3).size());
+            Bench.measure("range total via stream", size, () -> all.stream()
+                    .filter(e -> !e.getDate().isBefore(from) && !e.getDate().isAfter(to))
+                    .mapToLong(Expense::getAmountCents).sum());
+            Bench.measure("rangeTotal via date index", size, () -> expenses.rangeTotal(null, from, to));
+            Bench.measure("columnar rangeTotal", size, () -> columnar.rangeTotal(null, from, to));
+            Bench.measure("rangeTotal Food via date index", size, () -> expenses.rangeTotal("Food", from, to));
+            Bench.measure("columnar rangeTotal Food", size, () -> columnar.rangeTotal("Food", from, to));
+            Bench.measure("listExpenses via println", size, () -> {
+                expenses.listExpenses().forEach(Bench.NULL_OUT::println);
+                return 0;
+            });
+            Bench.measure("listExpenses via ListRenderer", size, () -> Bench.nullRenderer().render(expenses.listExpenses(), Expense::appendTo));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ExpenseTracker;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running totals per category and per (year, month, category), updated as expenses are added,
+ * so totals never touch the expenses themselves. Categories are positions in the owning
+ * service's category list.
+ * <p>
+ * A total and the expense it counts must change together, so the rollup has no lock of its own:
+ * both expense services add to it in the same synchronized method that stores the expense.
+ */
+final class ExpenseRollup {
+    private final int categories;
+    private final long[] categoryTotals;
+    private final Map<Long, long[]> monthTotals = new HashMap<>(); // monthKey -> total per category
+
+    ExpenseRollup(int categories) {
+        this.categories = categories;
+        this.categoryTotals = new long[categories];
+    }
+
+    void add(int category, LocalDate date, long cents) {
+        categoryTotals[category] += cents;
+        monthTotals.computeIfAbsent(monthKey(date.getYear(), date.getMonthValue()), k -> new long[categories])[category] += cents;
+    }
+
+    long categoryTotal(int category) {
+        return categoryTotals[category];
+    }
+
+    /** Total for the month in one category, or in all of them if {@code category} is -1. */
+    long monthlyTotal(int year, int month, int category) {
+        long[] totals = monthTotals.get(monthKey(year, month));
+        if (totals == null) return 0;
+        if (category >= 0) return totals[category];
+        long sum = 0;
+        for (long t : totals) sum += t;
+        return sum;
+    }
+
+    /** One key per calendar month, in order; also keys the columnar service's month index. */
+    static long monthKey(int year, int month) {
+        return year * 12L + month - 1; // long: LocalDate years reach 999,999,999
+    }
+}
@@ -0,0 +1,76 @@
+package ExpenseTracker;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Differential check for the rollups in {@link InMemoryExpenseService}: random expenses are added,
+ * then every category total, monthly total and month listing must equal a brute-force scan of all
+ * expenses, and an invalid month must be rejected rather than read as another one.
+ * Usage: java ExpenseTracker.ExpenseRollupCheck [expenses] [seed]
+ */
+public class ExpenseRollupCheck {
+    private static final String[] CATEGORIES = {"Food", "Transport", "Entertainment", "Bills", "Other", "Misc", "food"};
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 3;
+
+        Random rnd = new Random(seed);
+        ExpenseService expenses = new InMemoryExpenseService();
+        LocalDate start = LocalDate.of(2018, 1, 1);
+        for (int i = 0; i < count; i++) {
+            expenses.addExpense(1 + rnd.nextInt(100_000), CATEGORIES[rnd.nextInt(CATEGORIES.length)],
+                    start.plusDays(rnd.nextInt(3_000)), "Check " + i);
+        }
+        List<Expense> all = expenses.listExpenses();
+
+        int mismatches = 0;
+        for (String category : new String[] {"Food", "FOOD", "other", "Misc", "Bills"}) {
+            if (expenses.categoryTotal(category) != sum(all, 0, 0, category)) mismatches++;
+        }
+        for (int year = 2017; year <= 2027; year++) {
+            for (int month = 1; month <= 12; month++) {
+                int y = year;
+                int m = month;
+                List<Expense> inMonth = all.stream()
+                        .filter(e -> e.getDate().getYear() == y && e.getDate().getMonthValue() == m)
+                        .sorted(Comparator.comparing(Expense::getDate))
+                        .toList();
+                if (!inMonth.equals(expenses.expensesForMonth(year, month))) mismatches++;
+                if (expenses.monthlyTotal(year, month, null) != sum(all, year, month, null)) mismatches++;
+                for (String category : CATEGORIES) {
+                    if (expenses.monthlyTotal(year, month, category) != sum(all, year, month, category)) mismatches++;
+                }
+            }
+        }
+        for (int month : new int[] {0, 13, -1}) {
+            try {
+                expenses.monthlyTotal(2020, month, null);
+                mismatches++;
+            } catch (DateTimeException expected) {
+                // an invalid month is an error, not a neighbouring month
+            }
+        }
+
+        if (mismatches > 0) {
+            System.out.println("FAILED: " + mismatches + " totals or listings differ from a full scan");
+            System.exit(1);
+        }
+        System.out.printf("OK: totals and month listings match a full scan of %d expenses%n", count);
+    }
+
+    /** Brute-force total of the expenses in a category (null for all), in the month or, if {@code year} is 0, ever. */
+    private static long sum(List<Expense> all, int year, int month, String category) {
+        long total = 0;
+        for (Expense e : all) {
+            if (year != 0 && (e.getDate().getYear() != year || e.getDate().getMonthValue() != month)) continue;
+            if (category != null && !e.getCategory().equalsIgnoreCase(category)) continue;
+            total += e.getAmountCents();
+        }
+        return total;
+    }
+}
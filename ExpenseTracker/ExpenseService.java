@@ -0,0 +1,36 @@
+package ExpenseTracker;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Expense tracking operations, independent of any console I/O.
+ */
+public interface ExpenseService {
+
+    /** Known categories; expenses in any other category are filed under "Other". */
+    List<String> categories();
+
+    Expense addExpense(long amountCents, String category, LocalDate date, String description);
+
+    /** Total spent in a category (case-insensitive), in cents. */
+    long categoryTotal(String category);
+
+    /**
+     * Total spent in a month, in one category (case-insensitive) or in all if null, in cents.
+     *
+     * @throws java.time.DateTimeException if {@code year} and {@code month} are not a valid month
+     */
+    long monthlyTotal(int year, int month, String category);
+
+    /** Monthly budget for a known category, in cents. */
+    long budgetCents(String category);
+
+    /** Total spent from {@code from} to {@code to} inclusive, in one category (case-insensitive) or in all if null, in cents. */
+    long rangeTotal(String category, LocalDate from, LocalDate to);
+
+    /** Expenses dated in the month, oldest first (same-day expenses in the order added). */
+    List<Expense> expensesForMonth(int year, int month);
+
+    List<Expense> listExpenses();
+}
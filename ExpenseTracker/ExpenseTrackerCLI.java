@@ -1,25 +1,30 @@
 package ExpenseTracker;
 
+import Common.ListRenderer;
+import Common.Money;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 
 /**
  * Expense Tracker CLI
- * Features: add expense, category total, monthly list, budget check, list all, exit
+ * Features: add expense, category total, monthly list, budget check, date-range total, list all, exit
+ * A thin console client of {@link ExpenseService}.
+ * With --columnar expenses are stored column by column (see {@link ColumnarExpenseService}).
+ * Listings honour --page-size N and --limit N (see {@link ListRenderer}).
  */
 public class ExpenseTrackerCLI {
 
     private static final Scanner SCANNER = new Scanner(System.in);
-    private static final List<Expense> EXPENSES = new ArrayList<>();
-
-    // simple category budgets
-    private static final List<String> CATEGORIES = List.of("Food", "Transport", "Entertainment", "Bills", "Other");
-    private static final double[] CATEGORY_BUDGETS = {300, 150, 200, 400, 100};
+    private static ExpenseService EXPENSES = new InMemoryExpenseService();
+    private static ListRenderer renderer;
 
     public static void main(String[] args) {
+        renderer = ListRenderer.fromArgs(args, SCANNER);
+        for (String arg : args) {
+            if (arg.equals("--columnar")) EXPENSES = new ColumnarExpenseService();
+        }
         System.out.println("===== Expense Tracker =====");
         while (true) {
             printMenu();
@@ -30,12 +35,13 @@ public class ExpenseTrackerCLI {
                     case 2 -> categoryTotal();
                     case 3 -> monthlyExpenses();
                     case 4 -> budgetStatus();
-                    case 5 -> listExpenses();
-                    case 6 -> {
+                    case 5 -> rangeTotal();
+                    case 6 -> listExpenses();
+                    case 7 -> {
                         System.out.println("Exiting... Goodbye!");
                         return;
                     }
-                    default -> System.out.println("Invalid choice. Select 1-6");
+                    default -> System.out.println("Invalid choice. Select 1-7");
                 }
             } catch (Exception e) {
                 System.out.println("Error: " + e.getMessage());
@@ -50,17 +56,18 @@ public class ExpenseTrackerCLI {
         System.out.println("2. Get Total by Category");
         System.out.println("3. View Expenses by Month");
         System.out.println("4. Check Budget Status");
-        System.out.println("5. List All Expenses");
-        System.out.println("6. Exit");
+        System.out.println("5. Get Total for a Date Range");
+        System.out.println("6. List All Expenses");
+        System.out.println("7. Exit");
     }
 
     // ---- operations ---- //
 
     private static void addExpense() {
-        double amount = readDouble("Enter amount: ");
+        long amount = readCents("Enter amount: ");
         System.out.print("Enter category (Food/Transport/Entertainment/Bills/Other): ");
         String category = SCANNER.nextLine().trim();
-        if (!CATEGORIES.contains(category)) {
+        if (!EXPENSES.categories().contains(category)) {
             System.out.println("Unknown category. Using 'Other'.");
             category = "Other";
         }
@@ -77,61 +84,59 @@ public class ExpenseTrackerCLI {
         System.out.print("Enter description (optional): ");
         String desc = SCANNER.nextLine().trim();
 
-        Expense exp = new Expense(amount, category, date, desc);
-        EXPENSES.add(exp);
+        Expense exp = EXPENSES.addExpense(amount, category, date, desc);
         System.out.println("Added: " + exp);
     }
 
     private static void categoryTotal() {
         System.out.print("Enter category: ");
         String cat = SCANNER.nextLine().trim();
-        double total = EXPENSES.stream()
-                .filter(e -> e.getCategory().equalsIgnoreCase(cat))
-                .mapToDouble(Expense::getAmount)
-                .sum();
-        System.out.printf("Total for %s: %.2f%n", cat, total);
+        System.out.printf("Total for %s: %s%n", cat, Money.formatCents(EXPENSES.categoryTotal(cat)));
     }
 
     private static void monthlyExpenses() {
         int month = readInt("Enter month (1-12): ");
         int year = readInt("Enter year (e.g., 2025): ");
-        List<Expense> list = new ArrayList<>();
-        for (Expense e : EXPENSES) {
-            if (e.getDate().getMonthValue() == month && e.getDate().getYear() == year) {
-                list.add(e);
-            }
-        }
+        List<Expense> list = EXPENSES.expensesForMonth(year, month);
         if (list.isEmpty()) {
             System.out.println("No expenses for specified month.");
         } else {
             System.out.println("\n--- Expenses ---");
-            list.forEach(System.out::println);
+            renderer.render(list, Expense::appendTo);
+            System.out.println("Total: " + Money.formatCents(EXPENSES.monthlyTotal(year, month, null)));
         }
     }
 
     private static void budgetStatus() {
         System.out.print("Enter category: ");
         String cat = SCANNER.nextLine().trim();
-        int idx = CATEGORIES.indexOf(cat);
-        if (idx == -1) {
+        if (!EXPENSES.categories().contains(cat)) {
             System.out.println("Unknown category.");
             return;
         }
-        double total = EXPENSES.stream()
-                .filter(e -> e.getCategory().equalsIgnoreCase(cat))
-                .mapToDouble(Expense::getAmount)
-                .sum();
-        double budget = CATEGORY_BUDGETS[idx];
-        System.out.printf("Spent %.2f / %.2f on %s (%s) %n", total, budget, cat, total > budget ? "Over budget" : "Within budget");
+        long total = EXPENSES.categoryTotal(cat);
+        long budget = EXPENSES.budgetCents(cat);
+        System.out.printf("Spent %s / %s on %s (%s) %n", Money.formatCents(total), Money.formatCents(budget), cat,
+                total > budget ? "Over budget" : "Within budget");
+    }
+
+    private static void rangeTotal() {
+        LocalDate from = readDate("From (YYYY-MM-DD): ");
+        LocalDate to = readDate("To (YYYY-MM-DD): ");
+        System.out.print("Category (leave blank for all): ");
+        String cat = SCANNER.nextLine().trim();
+        long total = EXPENSES.rangeTotal(cat.isEmpty() ? null : cat, from, to);
+        System.out.printf("Total %s to %s%s: %s%n", from, to, cat.isEmpty() ? "" : " for " + cat, Money.formatCents(total));
     }
 
     private static void listExpenses() {
-        if (EXPENSES.isEmpty()) {
+        List<Expense> all = EXPENSES.listExpenses();
+        if (all.isEmpty()) {
             System.out.println("No expenses recorded.");
             return;
         }
         System.out.println("\n--- All Expenses ---");
-        EXPENSES.forEach(System.out::println);
+        renderer.render(all, Expense::appendTo);
     }
 
     // ---- helpers ---- //
@@ -147,11 +152,23 @@ public class ExpenseTrackerCLI {
         }
     }
 
-    private static double readDouble(String prompt) {
+    private static LocalDate readDate(String prompt) {
+        while (true) {
+            System.out.print(prompt);
+            try {
+                return LocalDate.parse(SCANNER.nextLine().trim());
+            } catch (DateTimeParseException e) {
+                System.out.println("Enter a date as YYYY-MM-DD.");
+            }
+        }
+    }
+
+    // reads a decimal amount and returns it in whole cents
+    private static long readCents(String prompt) {
         while (true) {
             System.out.print(prompt);
             try {
-                double v = Double.parseDouble(SCANNER.nextLine().trim());
+                long v = Money.parseCents(SCANNER.nextLine());
                 if (v <= 0) {
                     System.out.println("Amount must be positive.");
                     continue;
@@ -159,6 +176,8 @@ public class ExpenseTrackerCLI {
                 return v;
             } catch (NumberFormatException e) {
                 System.out.println("Enter numeric value.");
+            } catch (ArithmeticException e) {
+                System.out.println("Use at most two decimal places.");
             }
         }
     }
@@ -0,0 +1,100 @@
+package ExpenseTracker;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * {@link ExpenseService} holding expenses in memory.
+ * Totals are rolled up as expenses are added (see {@link ExpenseRollup}), so they are answered
+ * without touching the expenses; month listings and date-range totals come from an index of
+ * expenses by date.
+ * Thread-safe: adding and every total or listing lock the service. {@link #categories()} and
+ * {@link #budgetCents} read only constant tables and take no lock. Listings are copies, and
+ * {@link Expense} is immutable, so they can be read freely.
+ */
+public class InMemoryExpenseService implements ExpenseService {
+
+    // simple category budgets
+    static final List<String> CATEGORIES = List.of("Food", "Transport", "Entertainment", "Bills", "Other");
+    static final long[] CATEGORY_BUDGETS_CENTS = {30_000, 15_000, 20_000, 40_000, 10_000};
+
+    private final List<Expense> expenses = new ArrayList<>();
+    private final ExpenseRollup rollup = new ExpenseRollup(CATEGORIES.size());
+    private final TreeMap<LocalDate, List<Expense>> byDate = new TreeMap<>();
+
+    @Override
+    public List<String> categories() {
+        return CATEGORIES;
+    }
+
+    @Override
+    public synchronized Expense addExpense(long amountCents, String category, LocalDate date, String description) {
+        if (!CATEGORIES.contains(category)) category = "Other";
+        Expense exp = new Expense(amountCents, category, date, description);
+        expenses.add(exp);
+        rollup.add(CATEGORIES.indexOf(category), exp.getDate(), amountCents);
+        byDate.computeIfAbsent(exp.getDate(), d -> new ArrayList<>(2)).add(exp);
+        return exp;
+    }
+
+    @Override
+    public synchronized long categoryTotal(String category) {
+        int c = categoryIndex(category);
+        return c < 0 ? 0 : rollup.categoryTotal(c);
+    }
+
+    @Override
+    public synchronized long monthlyTotal(int year, int month, String category) {
+        YearMonth.of(year, month); // rejects month 13 as expensesForMonth does, rather than reading next January
+        if (category == null) return rollup.monthlyTotal(year, month, -1);
+        int c = categoryIndex(category);
+        return c < 0 ? 0 : rollup.monthlyTotal(year, month, c);
+    }
+
+    @Override
+    public synchronized long rangeTotal(String category, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) return 0;
+        long sum = 0;
+        for (List<Expense> day : byDate.subMap(from, true, to, true).values()) {
+            for (Expense e : day) {
+                if (category == null || e.getCategory().equalsIgnoreCase(category)) sum += e.getAmountCents();
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long budgetCents(String category) {
+        return budgetFor(category);
+    }
+
+    @Override
+    public synchronized List<Expense> expensesForMonth(int year, int month) {
+        LocalDate first = LocalDate.of(year, month, 1);
+        List<Expense> list = new ArrayList<>();
+        for (List<Expense> day : byDate.subMap(first, first.plusMonths(1)).values()) list.addAll(day);
+        return list;
+    }
+
+    @Override
+    public synchronized List<Expense> listExpenses() {
+        return new ArrayList<>(expenses);
+    }
+
+    static long budgetFor(String category) {
+        int idx = CATEGORIES.indexOf(category);
+        if (idx == -1) throw new IllegalArgumentException("Unknown category.");
+        return CATEGORY_BUDGETS_CENTS[idx];
+    }
+
+    /** Position of a category in {@link #CATEGORIES}, ignoring case, or -1. */
+    static int categoryIndex(String category) {
+        for (int i = 0; i < CATEGORIES.size(); i++) {
+            if (CATEGORIES.get(i).equalsIgnoreCase(category)) return i;
+        }
+        return -1;
+    }
+}
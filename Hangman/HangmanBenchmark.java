@@ -0,0 +1,24 @@
+package Hangman;
+
+import Common.Bench;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Micro-benchmarks for rendering word progress; size is the word length.
+ * Usage: java Hangman.HangmanBenchmark [maxSize]
+ */
+public class HangmanBenchmark {
+
+    public static void main(String[] args) {
+        Bench.header();
+        Set<Character> guessed = new HashSet<>(Arrays.asList('a', 'e', 'i', 'o', 'u', 'r', 's', 't'));
+        for (int size : Bench.sizes(args)) {
+            StringBuilder word = new StringBuilder(size);
+            for (int i = 0; i < size; i++) word.append((char) ('a' + i % 26));
+            String w = word.toString();
+            Bench.measure("displayWordProgress", size, () -> HangmanGame.displayWordProgress(w, guessed).length());
+        }
+    }
+}
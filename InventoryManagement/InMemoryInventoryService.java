@@ -0,0 +1,68 @@
+package InventoryManagement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link InventoryService} holding products in memory.
+ * Thread-safe: every method locks the service, and every {@link Product} handed out is a snapshot
+ * taken under that lock, so callers never see a product change while they read it.
+ */
+public class InMemoryInventoryService implements InventoryService {
+
+    private final List<Product> products = new ArrayList<>();
+
+    @Override
+    public synchronized Product addProduct(String name, int quantity, long priceCents, int reorderLevel) {
+        Product p = new Product(name, quantity, priceCents, reorderLevel);
+        products.add(p);
+        return p.snapshot();
+    }
+
+    @Override
+    public synchronized Product findProduct(int id) {
+        Product p = find(id);
+        return p == null ? null : p.snapshot();
+    }
+
+    @Override
+    public synchronized Product addStock(int id, int qty) throws ProductNotFoundException {
+        Product p = require(id);
+        p.addStock(qty);
+        return p.snapshot();
+    }
+
+    @Override
+    public synchronized Product removeStock(int id, int qty) throws ProductNotFoundException, InsufficientStockException {
+        Product p = require(id);
+        p.removeStock(qty);
+        return p.snapshot();
+    }
+
+    @Override
+    public synchronized List<Product> lowStockProducts() {
+        return products.stream().filter(Product::needsReorder).map(Product::snapshot).toList();
+    }
+
+    @Override
+    public synchronized long inventoryValueCents() {
+        return products.stream().mapToLong(Product::totalValueCents).sum();
+    }
+
+    @Override
+    public synchronized List<Product> listProducts() {
+        List<Product> copies = new ArrayList<>(products.size());
+        for (Product p : products) copies.add(p.snapshot());
+        return copies;
+    }
+
+    private Product find(int id) {
+        return products.stream().filter(p -> p.getId() == id).findFirst().orElse(null);
+    }
+
+    private Product require(int id) throws ProductNotFoundException {
+        Product p = find(id);
+        if (p == null) throw new ProductNotFoundException("Not found.");
+        return p;
+    }
+}
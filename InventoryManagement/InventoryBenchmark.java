@@ -0,0 +1,27 @@
+package InventoryManagement;
+
+import Common.Bench;
+
+/**
+ * Micro-benchmarks for inventory valuation at growing catalog sizes.
+ * Usage: java InventoryManagement.InventoryBenchmark [maxSize]
+ */
+public class InventoryBenchmark {
+
+    public static void main(String[] args) {
+        Bench.header();
+        InventoryService inventory = new InMemoryInventoryService();
+        int created = 0;
+        for (int size : Bench.sizes(args)) {
+            for (; created < size; created++) {
+                inventory.addProduct("Product " + created, created % 500, 99 + created % 10_000, 10);
+            }
+            Bench.measure("InventoryService.inventoryValueCents", size, inventory::inventoryValueCents);
+            Bench.measure("listProducts via println", size, () -> {
+                inventory.listProducts().forEach(Bench.NULL_OUT::println);
+                return 0;
+            });
+            Bench.measure("listProducts via ListRenderer", size, () -> Bench.nullRenderer().render(inventory.listProducts(), Product::appendTo));
+        }
+    }
+}
@@ -1,18 +1,23 @@
 package InventoryManagement;
 
-import java.util.ArrayList;
+import Common.ListRenderer;
+import Common.Money;
 import java.util.List;
 import java.util.Scanner;
 
 /**
  * Inventory Management CLI
+ * A thin console client of {@link InventoryService}.
+ * Listings honour --page-size N and --limit N (see {@link ListRenderer}).
  */
 public class InventoryManagerCLI {
 
     private static final Scanner SCANNER = new Scanner(System.in);
-    private static final List<Product> PRODUCTS = new ArrayList<>();
+    private static final InventoryService INVENTORY = new InMemoryInventoryService();
+    private static ListRenderer renderer;
 
     public static void main(String[] args) {
+        renderer = ListRenderer.fromArgs(args, SCANNER);
         System.out.println("===== Inventory Manager =====");
         while (true) {
             printMenu();
@@ -49,51 +54,43 @@ public class InventoryManagerCLI {
         System.out.println("7. Exit");
     }
 
-    private static Product findProduct(int id) {
-        return PRODUCTS.stream().filter(p -> p.getId() == id).findFirst().orElse(null);
-    }
-
     private static void addProduct() {
         System.out.print("Name: ");
         String name = SCANNER.nextLine().trim();
         int qty = readInt("Initial quantity: ");
-        double price = readDouble("Price per unit: ");
+        long price = readCents("Price per unit: ");
         int reorder = readInt("Reorder level: ");
-        PRODUCTS.add(new Product(name, qty, price, reorder));
+        INVENTORY.addProduct(name, qty, price, reorder);
         System.out.println("Product added.");
     }
 
-    private static void addStock() {
+    private static void addStock() throws ProductNotFoundException {
         int id = readInt("Product ID: ");
-        Product p = findProduct(id);
-        if (p == null) { System.out.println("Not found."); return; }
+        if (INVENTORY.findProduct(id) == null) { System.out.println("Not found."); return; }
         int qty = readInt("Quantity to add: ");
-        p.addStock(qty);
-        System.out.println("Updated: " + p);
+        System.out.println("Updated: " + INVENTORY.addStock(id, qty));
     }
 
-    private static void removeStock() throws InsufficientStockException {
+    private static void removeStock() throws ProductNotFoundException, InsufficientStockException {
         int id = readInt("Product ID: ");
-        Product p = findProduct(id);
-        if (p == null) { System.out.println("Not found."); return; }
+        if (INVENTORY.findProduct(id) == null) { System.out.println("Not found."); return; }
         int qty = readInt("Quantity to remove: ");
-        p.removeStock(qty);
-        System.out.println("Updated: " + p);
+        System.out.println("Updated: " + INVENTORY.removeStock(id, qty));
     }
 
     private static void showLowStock() {
         System.out.println("Low-stock products:");
-        PRODUCTS.stream().filter(Product::needsReorder).forEach(System.out::println);
+        renderer.render(INVENTORY.lowStockProducts(), Product::appendTo);
     }
 
     private static void inventoryValue() {
-        double total = PRODUCTS.stream().mapToDouble(Product::totalValue).sum();
-        System.out.printf("Total inventory value: %.2f%n", total);
+        System.out.println("Total inventory value: " + Money.formatCents(INVENTORY.inventoryValueCents()));
     }
 
     private static void listProducts() {
-        if (PRODUCTS.isEmpty()) { System.out.println("No products."); return; }
-        PRODUCTS.forEach(System.out::println);
+        List<Product> products = INVENTORY.listProducts();
+        if (products.isEmpty()) { System.out.println("No products."); return; }
+        renderer.render(products, Product::appendTo);
     }
 
     // helpers
@@ -104,11 +101,12 @@ public class InventoryManagerCLI {
             catch (NumberFormatException e) { System.out.println("Enter integer."); }
         }
     }
-    private static double readDouble(String prompt) {
+    private static long readCents(String prompt) {
         while (true) {
             System.out.print(prompt);
-            try { return Double.parseDouble(SCANNER.nextLine().trim()); }
+            try { return Money.parseCents(SCANNER.nextLine()); }
             catch (NumberFormatException e) { System.out.println("Enter number."); }
+            catch (ArithmeticException e) { System.out.println("Use at most two decimal places."); }
         }
     }
 }
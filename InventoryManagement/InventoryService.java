@@ -0,0 +1,24 @@
+package InventoryManagement;
+
+import java.util.List;
+
+/**
+ * Inventory operations, independent of any console I/O.
+ */
+public interface InventoryService {
+
+    Product addProduct(String name, int quantity, long priceCents, int reorderLevel);
+
+    /** Returns the product with this id, or null if there is none. */
+    Product findProduct(int id);
+
+    Product addStock(int id, int qty) throws ProductNotFoundException;
+
+    Product removeStock(int id, int qty) throws ProductNotFoundException, InsufficientStockException;
+
+    List<Product> lowStockProducts();
+
+    long inventoryValueCents();
+
+    List<Product> listProducts();
+}
@@ -1,7 +1,10 @@
 package InventoryManagement;
 
+import Common.Money;
+
 /**
  * Represents a warehouse product item.
+ * The unit price is held as a whole number of cents so valuations are exact.
  */
 public class Product {
     private static int NEXT_ID = 1;
@@ -9,24 +12,37 @@ public class Product {
     private final int id;
     private String name;
     private int quantity;
-    private double price;
+    private long priceCents;
     private int reorderLevel;
 
-    public Product(String name, int quantity, double price, int reorderLevel) {
+    public Product(String name, int quantity, long priceCents, int reorderLevel) {
         if (quantity < 0) throw new IllegalArgumentException("Quantity cannot be negative");
-        if (price < 0) throw new IllegalArgumentException("Price cannot be negative");
+        if (priceCents < 0) throw new IllegalArgumentException("Price cannot be negative");
         if (reorderLevel < 0) throw new IllegalArgumentException("Reorder level cannot be negative");
         this.id = NEXT_ID++;
         this.name = name;
         this.quantity = quantity;
-        this.price = price;
+        this.priceCents = priceCents;
         this.reorderLevel = reorderLevel;
     }
 
+    private Product(Product source) {
+        this.id = source.id;
+        this.name = source.name;
+        this.quantity = source.quantity;
+        this.priceCents = source.priceCents;
+        this.reorderLevel = source.reorderLevel;
+    }
+
+    /** A copy with the same id that later stock changes to this product leave alone. */
+    Product snapshot() {
+        return new Product(this);
+    }
+
     public int getId() { return id; }
     public String getName() { return name; }
     public int getQuantity() { return quantity; }
-    public double getPrice() { return price; }
+    public long getPriceCents() { return priceCents; }
     public int getReorderLevel() { return reorderLevel; }
 
     public void addStock(int qty) {
@@ -44,13 +60,22 @@ public class Product {
         return quantity <= reorderLevel;
     }
 
-    public double totalValue() {
-        return quantity * price;
+    public long totalValueCents() {
+        return Math.multiplyExact(quantity, priceCents);
     }
 
     @Override
     public String toString() {
-        return String.format("#%d | %s | Qty:%d | Price:%.2f | Reorder:%d", id, name, quantity, price, reorderLevel);
+        StringBuilder sb = new StringBuilder(64);
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    /** Appends the same text as {@link #toString()}, for bulk listings. */
+    public void appendTo(StringBuilder sb) {
+        sb.append('#').append(id).append(" | ").append(name).append(" | Qty:").append(quantity).append(" | Price:");
+        Money.appendCents(sb, priceCents);
+        sb.append(" | Reorder:").append(reorderLevel);
     }
 }
 
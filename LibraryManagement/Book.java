@@ -1,24 +1,44 @@
 package LibraryManagement;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
- * Represents a library book.
+ * Represents a library title (one ISBN) and its physical copies.
+ * <p>
+ * Copies on the shelf are an atomic counter: a walk-up borrow decrements it with a
+ * compare-and-set and takes no lock, so of several threads borrowing the last copy exactly one
+ * succeeds and the others get {@link BookAlreadyBorrowedException}. Reservations wait in a FIFO
+ * hold queue guarded by this title's own monitor; a returned or newly added copy goes to the
+ * first patron in the queue instead of back on the shelf. Copies only reach the shelf while
+ * nobody is waiting, so walk-up borrowers never jump the queue, and a busy title never blocks
+ * any other.
  */
 public class Book {
-    private static int NEXT_ID = 1;
+    private static final AtomicInteger NEXT_ID = new AtomicInteger(1);
 
     private final int id;
     private String title;
     private String author;
     private String isbn;
-    private boolean available = true;
+    private volatile int copies;                                          // written under this
+    private final AtomicInteger available = new AtomicInteger();          // copies on the shelf
+    private final LinkedHashSet<String> holds = new LinkedHashSet<>();    // guarded by this; FIFO
 
-    public Book(String title, String author, String isbn) {
+    public Book(String title, String author, String isbn, int copies) {
         if (title == null || title.isBlank()) throw new IllegalArgumentException("Title cannot be empty");
         if (author == null || author.isBlank()) throw new IllegalArgumentException("Author cannot be empty");
         if (isbn == null || isbn.isBlank()) throw new IllegalArgumentException("ISBN cannot be empty");
-        this.id = NEXT_ID++;
+        if (copies < 1) throw new IllegalArgumentException("A book needs at least one copy");
+        this.id = NEXT_ID.getAndIncrement();
         this.title = title;
         this.author = author;
         this.isbn = isbn;
+        this.copies = copies;
+        this.available.set(copies);
     }
 
     public int getId() {
@@ -37,22 +57,98 @@ public class Book {
         return isbn;
     }
 
+    public int getCopies() {
+        return copies;
+    }
+
+    public int getAvailableCopies() {
+        return available.get();
+    }
+
     public boolean isAvailable() {
-        return available;
+        return available.get() > 0;
+    }
+
+    public synchronized int getHolds() {
+        return holds.size();
     }
 
     public void borrow() throws BookAlreadyBorrowedException {
-        if (!available) throw new BookAlreadyBorrowedException("Book already borrowed");
-        available = false;
+        while (true) {
+            int free = available.get();
+            if (free == 0) throw new BookAlreadyBorrowedException("All copies are borrowed");
+            if (available.compareAndSet(free, free - 1)) return;
+        }
     }
 
-    public void giveBack() {
-        available = true;
+    /**
+     * Borrows a copy for {@code patron} if one is on the shelf and returns 0; otherwise queues the
+     * patron and returns their place in the queue (1 is next).
+     */
+    public synchronized int reserve(String patron) {
+        if (patron == null || patron.isBlank()) throw new IllegalArgumentException("Patron name cannot be empty");
+        if (holds.contains(patron)) throw new IllegalStateException(patron + " is already waiting for this book");
+        while (true) {
+            int free = available.get();
+            if (free == 0) break;
+            if (available.compareAndSet(free, free - 1)) return 0; // walk-up borrowers may race us for it
+        }
+        holds.add(patron);
+        return holds.size();
+    }
+
+    /**
+     * Takes a copy back. Returns the patron it was handed to from the hold queue, or null if it
+     * went back on the shelf.
+     */
+    public synchronized String giveBack() {
+        if (available.get() == copies) throw new IllegalStateException("No copy of this book is on loan");
+        return release();
+    }
+
+    /** Adds {@code count} copies; returns the waiting patrons that some of them went straight to. */
+    public synchronized List<String> addCopies(int count) {
+        if (count < 1) throw new IllegalArgumentException("Copies must be positive");
+        copies += count;
+        List<String> handed = new ArrayList<>(0);
+        for (int i = 0; i < count; i++) {
+            String patron = release();
+            if (patron != null) handed.add(patron);
+        }
+        return handed;
+    }
+
+    /** Hands one copy to the first patron waiting, or shelves it. Caller holds the lock. */
+    private String release() {
+        if (holds.isEmpty()) {
+            available.incrementAndGet();
+            return null;
+        }
+        Iterator<String> first = holds.iterator();
+        String patron = first.next();
+        first.remove();
+        return patron;
     }
 
     @Override
     public String toString() {
-        return String.format("#%d | %s by %s | ISBN:%s | %s", id, title, author, isbn, available ? "Available" : "Borrowed");
+        StringBuilder sb = new StringBuilder(64);
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    /** Appends the same text as {@link #toString()}, for bulk listings. */
+    public void appendTo(StringBuilder sb) {
+        sb.append('#').append(id).append(" | ").append(title).append(" by ").append(author)
+                .append(" | ISBN:").append(isbn).append(" | ");
+        int free = available.get();
+        int total = copies;
+        if (total == 1) sb.append(free > 0 ? "Available" : "Borrowed");
+        else sb.append(free).append(" of ").append(total).append(" available");
+        if (free == 0) {
+            int waiting = getHolds();
+            if (waiting > 0) sb.append(", ").append(waiting).append(" on hold");
+        }
     }
 }
 
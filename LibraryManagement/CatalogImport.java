@@ -0,0 +1,257 @@
+package LibraryManagement;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * The streaming pipeline behind {@link LibraryService#importBooks}.
+ * <p>
+ * A reader thread cuts the input into batches of {@link #BATCH_LINES} lines. Parse workers split
+ * the CSV fields, apply the {@link Book} constructor rules and tokenize each row for the
+ * {@link CatalogIndex}. The calling thread is the single writer: it hands batches to the service
+ * in line order, so the result is the same as adding the rows one by one. At most
+ * {@link #IN_FLIGHT_PER_WORKER} batches per worker exist at a time; once the writer falls that
+ * far behind the reader waits, so memory stays bounded whatever the file size.
+ * <p>
+ * Rows are {@code title,author,isbn[,copies]}. A field containing commas must be quoted, with
+ * {@code ""} for a quote inside it. A first line starting with "title," is a header and is skipped.
+ */
+final class CatalogImport {
+    static final int BATCH_LINES = 4096;
+    static final int IN_FLIGHT_PER_WORKER = 4;
+    static final long PROGRESS_INTERVAL_NANOS = 1_000_000_000L;
+
+    /** Consecutive lines of the input, and what a worker made of each. */
+    static final class Batch {
+        final long seq;
+        final long firstLine;
+        final String[] lines;
+        final int size;
+        // per row after parsing: error != null means invalid; title == null means a blank or header line
+        final String[] errors;
+        final String[] titles;
+        final String[] authors;
+        final String[] isbns;
+        final String[] keys;    // CatalogIndex.normalizeIsbn
+        final String[][] words; // CatalogIndex.words
+        final int[] copies;
+
+        Batch(long seq, long firstLine, String[] lines, int size) {
+            this.seq = seq;
+            this.firstLine = firstLine;
+            this.lines = lines;
+            this.size = size;
+            this.errors = new String[size];
+            this.titles = new String[size];
+            this.authors = new String[size];
+            this.isbns = new String[size];
+            this.keys = new String[size];
+            this.words = new String[size][];
+            this.copies = new int[size];
+        }
+    }
+
+    /** Adds a parsed batch to the catalog, recording each row in the report. */
+    @FunctionalInterface
+    interface Writer {
+        void write(Batch batch, ImportReport report);
+    }
+
+    private static final Batch END = new Batch(-1, 0, new String[0], 0);
+
+    private CatalogImport() { }
+
+    /**
+     * Imports {@code csv} with {@code workers} parse threads, calling {@code progress} (if not null)
+     * about once a second. If reading fails, the batches before the failure stay imported and the
+     * exception is rethrown.
+     */
+    static ImportReport run(BufferedReader csv, int workers, Writer writer, Consumer<ImportReport> progress) throws IOException {
+        int inFlight = workers * IN_FLIGHT_PER_WORKER;
+        Semaphore permits = new Semaphore(inFlight);
+        BlockingQueue<Batch> parseQueue = new ArrayBlockingQueue<>(inFlight + workers);
+        BlockingQueue<Batch> writeQueue = new ArrayBlockingQueue<>(inFlight + workers);
+        Throwable[] failure = new Throwable[1];
+
+        Thread[] threads = new Thread[workers + 1];
+        threads[0] = daemon("import-reader", () -> {
+            try {
+                read(csv, permits, parseQueue);
+            } catch (IOException | RuntimeException e) {
+                synchronized (failure) { if (failure[0] == null) failure[0] = e; }
+            } catch (InterruptedException e) {
+                return; // the writer gave up
+            }
+            try {
+                for (int i = 0; i < workers; i++) parseQueue.put(END);
+            } catch (InterruptedException ignored) { }
+        });
+        for (int w = 1; w <= workers; w++) {
+            threads[w] = daemon("import-parse-" + w, () -> {
+                try {
+                    for (Batch b; (b = parseQueue.take()) != END; ) {
+                        try {
+                            parse(b);
+                        } catch (RuntimeException e) {
+                            synchronized (failure) { if (failure[0] == null) failure[0] = e; }
+                        }
+                        writeQueue.put(b);
+                    }
+                    writeQueue.put(END);
+                } catch (InterruptedException ignored) { }
+            });
+        }
+        for (Thread t : threads) t.start();
+
+        ImportReport report = new ImportReport();
+        long start = System.nanoTime();
+        long lastProgress = start;
+        Map<Long, Batch> early = new HashMap<>(); // batches that overtook an earlier one
+        long next = 0;
+        int finished = 0;
+        try {
+            while (finished < workers) {
+                Batch b = writeQueue.take();
+                if (b == END) {
+                    finished++;
+                    continue;
+                }
+                early.put(b.seq, b);
+                for (Batch ready; (ready = early.remove(next)) != null; next++) {
+                    writer.write(ready, report);
+                    permits.release();
+                }
+                long now = System.nanoTime();
+                if (progress != null && now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                    lastProgress = now;
+                    report.elapsed(now - start);
+                    progress.accept(report);
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException("Import interrupted");
+        } finally {
+            for (Thread t : threads) t.interrupt(); // no-op once they are done; unblocks them if the writer failed
+        }
+        report.elapsed(System.nanoTime() - start);
+        synchronized (failure) {
+            if (failure[0] instanceof IOException e) throw e;
+            if (failure[0] instanceof RuntimeException e) throw e;
+        }
+        return report;
+    }
+
+    private static Thread daemon(String name, Runnable body) {
+        Thread t = new Thread(body, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    private static void read(BufferedReader csv, Semaphore permits, BlockingQueue<Batch> parseQueue)
+            throws IOException, InterruptedException {
+        long seq = 0;
+        long lineNumber = 0;
+        while (true) {
+            permits.acquire(); // backpressure: wait until the writer has finished an earlier batch
+            String[] lines = new String[BATCH_LINES];
+            int n = 0;
+            String line;
+            while (n < BATCH_LINES && (line = csv.readLine()) != null) lines[n++] = line;
+            if (n == 0) return;
+            parseQueue.put(new Batch(seq++, lineNumber + 1, lines, n));
+            lineNumber += n;
+            if (n < BATCH_LINES) return;
+        }
+    }
+
+    /** Fills in the parsed fields or an error for every line of {@code b}. */
+    static void parse(Batch b) {
+        String[] f = new String[5];
+        for (int i = 0; i < b.size; i++) {
+            String line = b.lines[i];
+            b.lines[i] = null; // the writer only needs the parsed fields
+            if (line.isBlank() || b.firstLine + i == 1 && line.regionMatches(true, 0, "title,", 0, 6)) continue;
+            int fields = split(line, f);
+            if (fields < 0) {
+                b.errors[i] = "unterminated quote";
+                continue;
+            }
+            if (fields < 3 || fields > 4) {
+                b.errors[i] = "expected title,author,isbn[,copies] (quote fields that contain commas)";
+                continue;
+            }
+            String title = f[0].trim();
+            String author = f[1].trim();
+            String isbn = f[2].trim();
+            String key = CatalogIndex.normalizeIsbn(isbn);
+            int copies = fields == 4 ? parseCopies(f[3].trim()) : 1;
+            // the Book constructor rules, checked here so bad rows cost no exception on the writer
+            if (title.isEmpty()) b.errors[i] = "title required";
+            else if (author.isEmpty()) b.errors[i] = "author required";
+            else if (key.isEmpty()) b.errors[i] = "invalid ISBN " + isbn;
+            else if (copies < 1) b.errors[i] = "invalid copies " + f[3].trim();
+            else {
+                b.titles[i] = title;
+                b.authors[i] = author;
+                b.isbns[i] = isbn;
+                b.keys[i] = key;
+                b.words[i] = CatalogIndex.words(title, author, isbn);
+                b.copies[i] = copies;
+            }
+        }
+    }
+
+    /**
+     * Splits a CSV line into {@code out}, honouring double quotes, and returns the number of fields
+     * (which may exceed {@code out.length}; the extra ones are not stored), or -1 if a quote is
+     * never closed.
+     */
+    static int split(String line, String[] out) {
+        int fields = 0;
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i <= line.length(); i++) {
+            char c = i < line.length() ? line.charAt(i) : ',';
+            if (quoted) {
+                if (i == line.length()) return -1;
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"' && field.toString().isBlank()) {
+                field.setLength(0);
+                quoted = true;
+            } else if (c == ',') {
+                if (fields < out.length) out[fields] = field.toString();
+                fields++;
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        return fields;
+    }
+
+    /** A copy count of 1 to 999,999, or -1. */
+    private static int parseCopies(String s) {
+        if (s.isEmpty() || s.length() > 6) return -1;
+        int n = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            n = n * 10 + c - '0';
+        }
+        return n;
+    }
+}
@@ -0,0 +1,300 @@
+package LibraryManagement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Inverted index over the words of book titles, authors and ISBNs, with BM25 ranking.
+ * <p>
+ * Words are runs of letters and digits, lowercased; an ISBN is indexed as one word of its digits
+ * (and X), so "978-0-13-468599-1" and "9780134685991" find the same book. Query syntax:
+ * <pre>
+ *   clean code          books containing both words
+ *   clean OR tidy code  either clause (each clause is an AND of its words)
+ *   refact*             any word starting with "refact"
+ * </pre>
+ * Each word keeps a posting list of (position, term frequency) in position order, so adding a
+ * book appends to a few lists. An AND clause walks its rarest word's list and gallops through the
+ * others; only matching books are scored, and a page is cut from the best
+ * {@code offset + limit} of them.
+ * <p>
+ * Posting lists grow in place as books are added, so {@link InMemoryLibraryService} adds books and
+ * searches under its monitor; borrowing and returning never touch the index and stay lock-free.
+ */
+public class CatalogIndex {
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+    /** A prefix is expanded to at most this many words, the most frequent first. */
+    static final int MAX_PREFIX_TERMS = 64;
+
+    /** One page of ranked results: positions best first, plus the total number of matches. */
+    public record Page(int total, int[] docs) { }
+
+    private static final class Term {
+        int[] docs = new int[2];
+        int[] freqs = new int[2];
+        int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size++] = freq;
+        }
+    }
+
+    /**
+     * Matches sorted by position with their scores. A single word's scores are computed only for
+     * the postings actually read, so a common word ANDed with a rare one costs a few lookups.
+     */
+    private final class Hits {
+        final int[] docs;
+        final int size;
+        final double[] scores; // null: computed from freqs and idf on demand
+        final int[] freqs;
+        final double idf;
+
+        Hits(int[] docs, double[] scores, int size) {
+            this.docs = docs;
+            this.scores = scores;
+            this.size = size;
+            this.freqs = null;
+            this.idf = 0;
+        }
+
+        Hits(Term t) {
+            this.docs = t.docs;
+            this.scores = null;
+            this.size = t.size;
+            this.freqs = t.freqs;
+            this.idf = Math.log(1 + (CatalogIndex.this.docs - t.size + 0.5) / (t.size + 0.5));
+        }
+
+        /** BM25 for a single word, or the precomputed score. */
+        double score(int i) {
+            if (scores != null) return scores[i];
+            int tf = freqs[i];
+            double norm = K1 * (1 - B + B * docLength[docs[i]] / averageLength());
+            return idf * tf * (K1 + 1) / (tf + norm);
+        }
+    }
+
+    private final Hits noHits = new Hits(new int[0], new double[0], 0);
+
+    private final TreeMap<String, Term> terms = new TreeMap<>();
+    private int[] docLength = new int[1024];
+    private int docs;
+    private long totalLength;
+
+    /** Indexes the book at {@code doc}; positions must be added in increasing order. */
+    public void add(int doc, String title, String author, String isbn) {
+        add(doc, words(title, author, isbn));
+    }
+
+    /**
+     * Indexes the book at {@code doc} from its {@link #words}, which bulk imports compute on
+     * other threads so the single thread writing the index only updates posting lists.
+     */
+    void add(int doc, String[] words) {
+        for (int i = 0; i < words.length; ) {
+            int j = i;
+            while (j < words.length && words[j].equals(words[i])) j++;
+            terms.computeIfAbsent(words[i], w -> new Term()).add(doc, j - i);
+            i = j;
+        }
+        if (doc >= docLength.length) docLength = Arrays.copyOf(docLength, Math.max(doc + 1, docLength.length * 2));
+        docLength[doc] = words.length;
+        docs = Math.max(docs, doc + 1);
+        totalLength += words.length;
+    }
+
+    /** The indexed words of a book, sorted, repeats included; touches no index state. */
+    static String[] words(String title, String author, String isbn) {
+        List<String> words = new ArrayList<>();
+        tokenize(title, words);
+        tokenize(author, words);
+        String normalized = normalizeIsbn(isbn);
+        if (!normalized.isEmpty()) words.add(normalized);
+        String[] sorted = words.toArray(new String[0]);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /** Ranks the matches of {@code query} and returns those at ranks [offset, offset + limit). */
+    public Page search(String query, int offset, int limit) {
+        Hits result = noHits;
+        for (List<String> clause : parse(query)) result = union(result, and(clause));
+        int keep = (int) Math.min((long) offset + limit, result.size);
+        int[] best = top(result, keep);
+        int from = Math.min(offset, best.length);
+        return new Page(result.size, Arrays.copyOfRange(best, from, best.length));
+    }
+
+    /** Clauses separated by "OR", each a list of words; a word ending in '*' is a prefix. */
+    static List<List<String>> parse(String query) {
+        List<List<String>> clauses = new ArrayList<>();
+        List<String> clause = new ArrayList<>();
+        for (String part : query.trim().split("\\s+")) {
+            if (part.equals("OR")) {
+                if (!clause.isEmpty()) clauses.add(clause);
+                clause = new ArrayList<>();
+            } else if (!part.equals("AND")) {
+                boolean prefix = part.endsWith("*");
+                String isbn = normalizeIsbn(part);
+                if (!prefix && isbn.length() >= 10 && part.matches("[0-9Xx-]+")) { // an ISBN typed with or without hyphens
+                    clause.add(isbn);
+                    continue;
+                }
+                List<String> words = new ArrayList<>();
+                tokenize(part, words);
+                if (prefix && !words.isEmpty()) words.set(words.size() - 1, words.get(words.size() - 1) + "*");
+                clause.addAll(words);
+            }
+        }
+        if (!clause.isEmpty()) clauses.add(clause);
+        return clauses;
+    }
+
+    private Hits and(List<String> clause) {
+        clause = clause.stream().distinct().toList();
+        Hits[] lists = new Hits[clause.size()];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = lookup(clause.get(i));
+            if (lists[i].size == 0) return noHits;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        Hits driver = lists[0];
+        int[] docs = new int[driver.size];
+        double[] scores = new double[driver.size];
+        int n = 0;
+        int[] cursor = new int[lists.length];
+        outer:
+        for (int i = 0; i < driver.size; i++) {
+            int doc = driver.docs[i];
+            double score = driver.score(i);
+            for (int l = 1; l < lists.length; l++) {
+                Hits other = lists[l];
+                int at = gallop(other.docs, cursor[l], other.size, doc);
+                cursor[l] = at;
+                if (at == other.size) break outer; // this list is exhausted, so nothing later can match
+                if (other.docs[at] != doc) continue outer;
+                score += other.score(at);
+            }
+            docs[n] = doc;
+            scores[n++] = score;
+        }
+        return new Hits(docs, scores, n);
+    }
+
+    /** Scored postings of one word, or of the most frequent words starting with a prefix. */
+    private Hits lookup(String word) {
+        if (!word.endsWith("*")) {
+            Term t = terms.get(word);
+            return t == null ? noHits : new Hits(t);
+        }
+        String prefix = word.substring(0, word.length() - 1);
+        List<Term> expansions = new ArrayList<>();
+        for (Map.Entry<String, Term> e : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, true).entrySet()) {
+            expansions.add(e.getValue());
+        }
+        if (expansions.size() > MAX_PREFIX_TERMS) {
+            expansions.sort((a, b) -> Integer.compare(b.size, a.size));
+            expansions = expansions.subList(0, MAX_PREFIX_TERMS);
+        }
+        Hits merged = noHits;
+        for (Term t : expansions) merged = union(merged, new Hits(t));
+        return merged;
+    }
+
+    private double averageLength() {
+        return Math.max(1.0, (double) totalLength / Math.max(1, docs));
+    }
+
+    /** Merges two position-sorted lists, adding the scores of positions present in both. */
+    private Hits union(Hits a, Hits b) {
+        if (a.size == 0) return b;
+        if (b.size == 0) return a;
+        int[] docs = new int[a.size + b.size];
+        double[] scores = new double[a.size + b.size];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || i < a.size && a.docs[i] < b.docs[j]) {
+                docs[n] = a.docs[i];
+                scores[n++] = a.score(i++);
+            } else if (i == a.size || b.docs[j] < a.docs[i]) {
+                docs[n] = b.docs[j];
+                scores[n++] = b.score(j++);
+            } else {
+                docs[n] = a.docs[i];
+                scores[n++] = a.score(i++) + b.score(j++);
+            }
+        }
+        return new Hits(docs, scores, n);
+    }
+
+    /** The {@code keep} best hits, best first; equal scores keep position order. */
+    private int[] top(Hits hits, int keep) {
+        int[] best = new int[keep];
+        double[] bestScore = new double[keep];
+        int size = 0;
+        for (int i = 0; i < hits.size; i++) {
+            double s = hits.score(i);
+            if (size == keep && (keep == 0 || s <= bestScore[size - 1])) continue; // positions ascend, so ties lose
+            int at = size == keep ? size - 1 : size++;
+            while (at > 0 && s > bestScore[at - 1]) {
+                best[at] = best[at - 1];
+                bestScore[at] = bestScore[at - 1];
+                at--;
+            }
+            best[at] = hits.docs[i];
+            bestScore[at] = s;
+        }
+        return best;
+    }
+
+    /** First index in [from, to) whose value is at least {@code target}, probing 1, 2, 4... ahead. */
+    private static int gallop(int[] a, int from, int to, int target) {
+        int step = 1;
+        int lo = from;
+        int hi = from;
+        while (hi < to && a[hi] < target) {
+            lo = hi + 1;
+            hi += step;
+            step <<= 1;
+        }
+        int at = Arrays.binarySearch(a, lo, Math.min(hi, to), target);
+        return at >= 0 ? at : -at - 1;
+    }
+
+    /** Lowercased runs of letters and digits. */
+    static void tokenize(String text, List<String> out) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                out.add(word.toString());
+                word.setLength(0);
+            }
+        }
+    }
+
+    /** Digits and X of an ISBN, lowercased, e.g. "0-8044-2957-X" gives "080442957x". */
+    static String normalizeIsbn(String isbn) {
+        StringBuilder sb = new StringBuilder(13);
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c >= '0' && c <= '9') sb.append(c);
+            else if (c == 'X' || c == 'x') sb.append('x');
+        }
+        return sb.toString();
+    }
+}
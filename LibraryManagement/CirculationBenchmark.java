@@ -0,0 +1,159 @@
+package LibraryManagement;
+
+import Common.Bench;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Measures borrow, reserve and return under contention: threads circulating their own books,
+ * threads fighting over one book, and id lookups. Before timing, two race checks run many rounds
+ * on a single-copy book and exit with status 1 on any failure: every thread borrows at once and
+ * exactly one must win; every thread reserves at once, exactly one must get the copy, the others
+ * must get places 1..n-1, and returns must hand the copy on in exactly that order.
+ * Usage: java LibraryManagement.CirculationBenchmark [maxThreads]
+ */
+public class CirculationBenchmark {
+
+    private static final int CATALOG = 100_000;
+    private static final int RACE_ROUNDS = 10_000;
+    private static final String[] PATRONS = new String[Bench.MAX_THREADS];
+    static {
+        for (int t = 0; t < PATRONS.length; t++) PATRONS[t] = "patron" + t;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] threads = Bench.threads(args);
+        LibraryService library = new InMemoryLibraryService();
+        int firstId = library.addBook("Title 0", "Author 0", "9781000000000").getId();
+        for (int i = 1; i < CATALOG; i++) library.addBook("Title " + i, "Author " + (i % 5_000), "978" + (1_000_000_000L + i));
+
+        for (int n : threads) {
+            int wrong = race(library, firstId, n);
+            System.out.printf("race check, %d threads: %,d rounds, %d with other than one winner%n", n, RACE_ROUNDS, wrong);
+            int unfair = holdRace(library, firstId + 1, n);
+            System.out.printf("hold check, %d threads: %,d rounds, %d out of order%n", n, RACE_ROUNDS, unfair);
+            if (wrong > 0 || unfair > 0) System.exit(1);
+        }
+
+        Bench.threadHeader();
+        for (int n : threads) {
+            // each thread cycles through its own slice of the catalog, so threads never share a book
+            int slice = CATALOG / n;
+            Bench.measureThreads("borrow + return, own books", n, new Bench.Op() {
+                final int[] next = new int[n];
+                @Override public long run(int t) {
+                    int id = firstId + t * slice + next[t]++ % slice;
+                    try {
+                        library.returnBook(library.borrowBook(id, PATRONS[t]).getId());
+                        return 1;
+                    } catch (BookNotFoundException | BookAlreadyBorrowedException | LoanNotFoundException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+            Bench.measureThreads("borrow + return, one hot book", n, t -> {
+                try {
+                    library.returnBook(library.borrowBook(firstId, PATRONS[t]).getId());
+                    return 1;
+                } catch (BookAlreadyBorrowedException e) {
+                    return 0; // lost the race to another thread
+                } catch (BookNotFoundException | LoanNotFoundException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            Bench.measureThreads("reserve + return, own books", n, t -> {
+                int id = firstId + t * slice;
+                try {
+                    int place = library.reserveBook(id, PATRONS[t]);
+                    library.returnBook(library.loansOf(PATRONS[t]).get(0).getId());
+                    return place;
+                } catch (BookNotFoundException | LoanNotFoundException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            Bench.measureThreads("findBook", n, t -> library.findBook(firstId + (t * 7919) % CATALOG).getId());
+        }
+    }
+
+    /** Rounds in which the number of threads that borrowed {@code id} was not exactly one. */
+    private static int race(LibraryService library, int id, int threads) throws InterruptedException {
+        int wrong = 0;
+        for (int round = 0; round < RACE_ROUNDS; round++) {
+            AtomicReference<Loan> winner = new AtomicReference<>();
+            AtomicLong winners = new AtomicLong();
+            CountDownLatch start = new CountDownLatch(1);
+            Thread[] workers = new Thread[threads];
+            for (int i = 0; i < threads; i++) {
+                int t = i;
+                workers[i] = new Thread(() -> {
+                    try {
+                        start.await();
+                        winner.set(library.borrowBook(id, PATRONS[t]));
+                        winners.incrementAndGet();
+                    } catch (BookAlreadyBorrowedException e) {
+                        // expected for every thread but one
+                    } catch (BookNotFoundException | InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                workers[i].start();
+            }
+            start.countDown();
+            for (Thread w : workers) w.join();
+            if (winners.get() != 1) wrong++;
+            try {
+                library.returnBook(winner.get().getId());
+            } catch (LoanNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return wrong;
+    }
+
+    /**
+     * Rounds in which simultaneous reservations of {@code id} did not give the copy to exactly one
+     * thread and places 1..n-1 to the rest, or returns did not hand the copy on in place order.
+     */
+    private static int holdRace(LibraryService library, int id, int threads) throws InterruptedException {
+        int wrong = 0;
+        for (int round = 0; round < RACE_ROUNDS; round++) {
+            int[] places = new int[threads];
+            CountDownLatch start = new CountDownLatch(1);
+            Thread[] workers = new Thread[threads];
+            for (int i = 0; i < threads; i++) {
+                int t = i;
+                workers[i] = new Thread(() -> {
+                    try {
+                        start.await();
+                        places[t] = library.reserveBook(id, PATRONS[t]);
+                    } catch (BookNotFoundException | InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                workers[i].start();
+            }
+            start.countDown();
+            for (Thread w : workers) w.join();
+            String[] byPlace = new String[threads];
+            boolean ok = true;
+            for (int t = 0; t < threads; t++) {
+                if (byPlace[places[t]] != null) ok = false;
+                byPlace[places[t]] = PATRONS[t];
+            }
+            try {
+                Loan loan = library.loansOf(byPlace[0]).get(0);
+                for (int place = 1; place <= threads; place++) {
+                    Loan next = library.returnBook(loan.getId()).getHandedTo(); // the copy goes to the next in line, then to the shelf
+                    if (place < threads ? next == null || !byPlace[place].equals(next.getPatron()) : next != null) ok = false;
+                    loan = next;
+                    if (loan == null) break;
+                }
+            } catch (LoanNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+            if (!ok || !library.findBook(id).isAvailable()) wrong++;
+        }
+        return wrong;
+    }
+}
@@ -0,0 +1,57 @@
+package LibraryManagement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Progress and outcome of a bulk catalog import: rows read, new titles, copies added, rows
+ * rejected as invalid (with the first {@link #MAX_DETAILS} of them by line number), and the
+ * elapsed time. Handed to the progress callback while the import runs, and returned at the end.
+ */
+public class ImportReport {
+    public static final int MAX_DETAILS = 100;
+
+    private long rows;
+    private long titles;
+    private long copies;
+    private long invalid;
+    private long elapsedNanos;
+    private final List<String> details = new ArrayList<>();
+
+    void newTitle(int count) {
+        rows++;
+        titles++;
+        copies += count;
+    }
+
+    void moreCopies(int count) {
+        rows++;
+        copies += count;
+    }
+
+    void invalid(long line, String reason) {
+        rows++;
+        invalid++;
+        if (details.size() < MAX_DETAILS) details.add("line " + line + ": " + reason);
+    }
+
+    void elapsed(long nanos) { elapsedNanos = nanos; }
+
+    public long getRows() { return rows; }
+    public long getTitles() { return titles; }
+    public long getCopies() { return copies; }
+    public long getInvalid() { return invalid; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public List<String> getDetails() { return Collections.unmodifiableList(details); }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Read %,d row(s): %,d new title(s), %,d copies added, %,d invalid row(s) in %.1f s (%,.0f rows/s).",
+                rows, titles, copies, invalid, elapsedNanos / 1e9, getRowsPerSecond());
+    }
+}
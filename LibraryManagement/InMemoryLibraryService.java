@@ -0,0 +1,162 @@
+package LibraryManagement;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link LibraryService} holding the catalog in memory, with a {@link CatalogIndex} for ranked search.
+ * Thread-safe. Adding, searching and listing lock the service, which guards the list and the index;
+ * finding, borrowing, returning and reserving take no service lock: they look the book up in a
+ * concurrent id or ISBN map and leave the rest to the {@link Book}, which locks at most that one
+ * title, so circulation traffic scales with the number of cores. Loans and their due-date timers
+ * are kept by a {@link LoanDesk}.
+ */
+public class InMemoryLibraryService implements LibraryService {
+
+    private final List<Book> books = new ArrayList<>();
+    private final CatalogIndex index = new CatalogIndex();
+    private final Map<Integer, Book> byId = new ConcurrentHashMap<>();
+    private final Map<String, Book> byIsbn = new ConcurrentHashMap<>(); // keyed by CatalogIndex.normalizeIsbn
+    private final LoanDesk desk;
+
+    public InMemoryLibraryService() {
+        this(System::currentTimeMillis);
+    }
+
+    /** Uses {@code clock} (epoch millis) for loan and due times; tests and benchmarks pass a fake one. */
+    public InMemoryLibraryService(LongSupplier clock) {
+        this.desk = new LoanDesk(clock);
+    }
+
+    @Override
+    public synchronized Book addBook(String title, String author, String isbn, int copies) {
+        String key = isbn == null ? "" : CatalogIndex.normalizeIsbn(isbn);
+        Book existing = byIsbn.get(key);
+        if (existing != null) {
+            if (!sameTitle(existing, title)) throw new IllegalArgumentException(mismatch(existing, isbn));
+            lend(existing, existing.addCopies(copies));
+            return existing;
+        }
+        if (key.isEmpty() && isbn != null && !isbn.isBlank()) throw new IllegalArgumentException("ISBN must contain digits");
+        Book book = new Book(title, author, isbn, copies);
+        store(book, key, CatalogIndex.words(title, author, isbn));
+        return book;
+    }
+
+    /** Uses one parse thread per core; see {@link CatalogImport}. */
+    @Override
+    public ImportReport importBooks(BufferedReader csv, Consumer<ImportReport> progress) throws IOException {
+        return CatalogImport.run(csv, Runtime.getRuntime().availableProcessors(), this::write, progress);
+    }
+
+    /** Adds one parsed batch; locking per batch lets searches and listings run between batches. */
+    private synchronized void write(CatalogImport.Batch batch, ImportReport report) {
+        for (int i = 0; i < batch.size; i++) {
+            long line = batch.firstLine + i;
+            if (batch.errors[i] != null) {
+                report.invalid(line, batch.errors[i]);
+            } else if (batch.titles[i] != null) {
+                Book existing = byIsbn.get(batch.keys[i]);
+                if (existing == null) {
+                    store(new Book(batch.titles[i], batch.authors[i], batch.isbns[i], batch.copies[i]), batch.keys[i], batch.words[i]);
+                    report.newTitle(batch.copies[i]);
+                } else if (sameTitle(existing, batch.titles[i])) {
+                    lend(existing, existing.addCopies(batch.copies[i]));
+                    report.moreCopies(batch.copies[i]);
+                } else {
+                    report.invalid(line, mismatch(existing, batch.isbns[i]));
+                }
+            }
+        }
+    }
+
+    /** Opens loans for waiting patrons that new copies went straight to. */
+    private void lend(Book book, List<String> patrons) {
+        for (String patron : patrons) desk.open(book, patron);
+    }
+
+    private void store(Book book, String key, String[] words) {
+        index.add(books.size(), words);
+        books.add(book);
+        byId.put(book.getId(), book);
+        byIsbn.put(key, book);
+    }
+
+    private static boolean sameTitle(Book book, String title) {
+        return title != null && book.getTitle().trim().equalsIgnoreCase(title.trim());
+    }
+
+    private static String mismatch(Book book, String isbn) {
+        return "ISBN " + isbn + " is already catalogued as \"" + book.getTitle() + "\"";
+    }
+
+    @Override
+    public synchronized SearchPage search(String query, int offset, int limit) {
+        if (offset < 0 || limit < 0) throw new IllegalArgumentException("Offset and limit cannot be negative");
+        CatalogIndex.Page page = index.search(query, offset, limit);
+        List<Book> results = new ArrayList<>(page.docs().length);
+        for (int position : page.docs()) results.add(books.get(position));
+        return new SearchPage(results, offset, page.total());
+    }
+
+    @Override
+    public Book findBook(int id) {
+        return byId.get(id);
+    }
+
+    @Override
+    public Book findByIsbn(String isbn) {
+        return byIsbn.get(CatalogIndex.normalizeIsbn(isbn));
+    }
+
+    @Override
+    public Loan borrowBook(int id, String patron) throws BookNotFoundException, BookAlreadyBorrowedException {
+        if (patron == null || patron.isBlank()) throw new IllegalArgumentException("Patron name cannot be empty");
+        Book b = require(id);
+        b.borrow();
+        return desk.open(b, patron);
+    }
+
+    @Override
+    public Loan returnBook(long loanId) throws LoanNotFoundException {
+        Loan loan = desk.close(loanId);
+        String next = loan.getBook().giveBack();
+        if (next != null) loan.handTo(desk.open(loan.getBook(), next));
+        return loan;
+    }
+
+    @Override
+    public int reserveBook(int id, String patron) throws BookNotFoundException {
+        Book b = require(id);
+        int place = b.reserve(patron);
+        if (place == 0) desk.open(b, patron);
+        return place;
+    }
+
+    @Override
+    public List<Loan> loansOf(String patron) {
+        return desk.loansOf(patron);
+    }
+
+    @Override
+    public int processDueLoans() {
+        return desk.processDue();
+    }
+
+    @Override
+    public synchronized List<Book> listBooks() {
+        return new ArrayList<>(books);
+    }
+
+    private Book require(int id) throws BookNotFoundException {
+        Book b = findBook(id);
+        if (b == null) throw new BookNotFoundException("Book ID not found.");
+        return b;
+    }
+}
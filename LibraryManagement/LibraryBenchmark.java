@@ -0,0 +1,95 @@
+package LibraryManagement;
+
+import Common.Bench;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Micro-benchmarks for catalog search at growing catalog sizes, and bulk import of a CSV dump.
+ * Usage: java LibraryManagement.LibraryBenchmark [maxSize]
+ */
+public class LibraryBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Bench.header();
+        LibraryService library = new InMemoryLibraryService();
+        int created = 0;
+        for (int size : Bench.sizes(args)) {
+            for (; created < size; created++) {
+                library.addBook("Title " + created, "Author " + (created % 5_000), "978" + (1_000_000_000L + created));
+            }
+            List<Book> all = library.listBooks();
+            Bench.measure("substring scan, no index (baseline)", size, () -> scan(all, "zzz"));
+            String rareQuery = "title " + (size / 2);
+            String prefixQuery = (size / 2 / 10) + "*";
+            Bench.measure("search AND (one hit), top 10", size, () -> library.search(rareQuery, 0, 10).getTotal());
+            Bench.measure("search author, top 10", size, () -> library.search("author 42", 0, 10).getTotal());
+            Bench.measure("search author, page 5", size, () -> library.search("author 42", 40, 10).getTotal());
+            Bench.measure("search OR, top 10", size, () -> library.search("author 42 OR author 43", 0, 10).getTotal());
+            Bench.measure("search prefix, top 10", size, () -> library.search(prefixQuery, 0, 10).getTotal());
+            Bench.measure("search word in every title, top 10", size, () -> library.search("title", 0, 10).getTotal());
+            Bench.measure("listBooks via println", size, () -> {
+                library.listBooks().forEach(Bench.NULL_OUT::println);
+                return 0;
+            });
+            Bench.measure("listBooks via ListRenderer", size, () -> Bench.nullRenderer().render(library.listBooks(), Book::appendTo));
+        }
+        for (int size : Bench.sizes(args)) importOnce(size);
+    }
+
+    /** The lowercase-and-contains scan that search replaced, kept as a baseline. */
+    private static long scan(List<Book> books, String keyword) {
+        long hits = 0;
+        for (Book b : books) {
+            if (b.getTitle().toLowerCase().contains(keyword) || b.getAuthor().toLowerCase().contains(keyword)
+                    || b.getIsbn().toLowerCase().contains(keyword)) hits++;
+        }
+        return hits;
+    }
+
+    /**
+     * Times one bulk import of {@code size} CSV rows (1% add copies of an earlier title) into an
+     * empty catalog, against adding the same rows one at a time. Import is a one-shot operation, so
+     * it is run once rather than through {@link Bench#measure}.
+     */
+    private static void importOnce(int size) throws Exception {
+        Path csv = Files.createTempFile("catalog", ".csv");
+        try {
+            try (BufferedWriter w = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+                w.write("title,author,isbn,copies\n");
+                for (int i = 0; i < size; i++) {
+                    int n = i % 100 == 99 ? i / 2 : i;
+                    w.write("\"Title " + n + ", Part " + (n % 7) + "\",Author " + (n % 5_000) + ",978-" + (1_000_000_000L + n) + "," + (1 + n % 3) + "\n");
+                }
+            }
+            long start = System.nanoTime();
+            LibraryService oneByOne = new InMemoryLibraryService();
+            try (BufferedReader in = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+                in.readLine();
+                String[] f = new String[4];
+                for (String line; (line = in.readLine()) != null; ) {
+                    CatalogImport.split(line, f);
+                    oneByOne.addBook(f[0], f[1], f[2], Integer.parseInt(f[3]));
+                }
+            }
+            Bench.consume(oneByOne.listBooks().size());
+            Bench.report("addBook per row", size, (double) (System.nanoTime() - start) / size);
+            oneByOne = null;
+
+            start = System.nanoTime();
+            ImportReport report;
+            try (BufferedReader in = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+                report = new InMemoryLibraryService().importBooks(in, null);
+            }
+            Bench.consume(report.getTitles());
+            Bench.report("importBooks (per row)", size, (double) (System.nanoTime() - start) / size);
+            System.out.println("    " + report);
+        } finally {
+            Files.delete(csv);
+        }
+    }
+}
@@ -1,18 +1,40 @@
 package LibraryManagement;
-import java.util.ArrayList;
+import Common.ListRenderer;
+import Common.Money;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Library Book Manager (CLI)
- * Features: add book, search, borrow, return, list all books, exit
+ * Features: add copies of a book, search, borrow, return, reserve, loans and fines, list all books,
+ * bulk CSV import, exit
+ * A thin console client of {@link LibraryService}.
+ * Listings honour --page-size N and --limit N (see {@link ListRenderer}).
  */
 public class LibraryBookManager {
 
     private static final Scanner SCANNER = new Scanner(System.in);
-    private static final List<Book> BOOKS = new ArrayList<>();
+    private static final int RESULTS_PER_PAGE = 20;
+    private static final LibraryService LIBRARY = new InMemoryLibraryService();
+    private static ListRenderer renderer;
 
     public static void main(String[] args) {
+        renderer = ListRenderer.fromArgs(args, SCANNER);
+        // one periodic task drives every loan's due-date and fine timers
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "loan-ticker");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleAtFixedRate(LIBRARY::processDueLoans, 1, 1, TimeUnit.MINUTES);
         System.out.println("===== Library Book Manager =====");
         while (true) {
             printMenu();
@@ -23,12 +45,15 @@ public class LibraryBookManager {
                     case 2 -> searchBooks();
                     case 3 -> borrowBook();
                     case 4 -> returnBook();
-                    case 5 -> listBooks();
-                    case 6 -> {
+                    case 5 -> reserveBook();
+                    case 6 -> myLoans();
+                    case 7 -> listBooks();
+                    case 8 -> importBooks();
+                    case 9 -> {
                         System.out.println("Exiting... Goodbye!");
                         return;
                     }
-                    default -> System.out.println("Invalid choice. Please select 1-6.");
+                    default -> System.out.println("Invalid choice. Please select 1-9.");
                 }
             } catch (Exception e) {
                 System.out.println("Error: " + e.getMessage());
@@ -43,8 +68,11 @@ public class LibraryBookManager {
         System.out.println("2. Search Books");
         System.out.println("3. Borrow Book");
         System.out.println("4. Return Book");
-        System.out.println("5. List All Books");
-        System.out.println("6. Exit");
+        System.out.println("5. Reserve Book");
+        System.out.println("6. My Loans and Fines");
+        System.out.println("7. List All Books");
+        System.out.println("8. Import Books from CSV");
+        System.out.println("9. Exit");
     }
 
     // ---- Operations ---- //
@@ -56,58 +84,93 @@ public class LibraryBookManager {
         String author = SCANNER.nextLine().trim();
         System.out.print("Enter ISBN: ");
         String isbn = SCANNER.nextLine().trim();
+        int copies = readInt("Number of copies: ");
 
-        Book book = new Book(title, author, isbn);
-        BOOKS.add(book);
+        Book book = LIBRARY.addBook(title, author, isbn, copies);
         System.out.println("Book added: " + book);
     }
 
     private static void searchBooks() {
-        System.out.print("Enter keyword (title/author/ISBN): ");
-        String keyword = SCANNER.nextLine().trim().toLowerCase();
-        List<Book> results = new ArrayList<>();
-        for (Book b : BOOKS) {
-            if (b.getTitle().toLowerCase().contains(keyword) ||
-                    b.getAuthor().toLowerCase().contains(keyword) ||
-                    b.getIsbn().toLowerCase().contains(keyword)) {
-                results.add(b);
-            }
-        }
-        if (results.isEmpty()) {
+        System.out.print("Search (words are ANDed; use OR between alternatives, * for a prefix): ");
+        String query = SCANNER.nextLine().trim();
+        SearchPage page = LIBRARY.search(query, 0, RESULTS_PER_PAGE);
+        if (page.getTotal() == 0) {
             System.out.println("No books found.");
-        } else {
-            System.out.println("\n--- Search Results ---");
-            results.forEach(System.out::println);
+            return;
+        }
+        System.out.println("\n--- Search Results (" + page.getTotal() + ") ---");
+        while (true) {
+            renderer.render(page.getBooks(), Book::appendTo);
+            if (!page.hasMore()) return;
+            int shown = page.getOffset() + page.getBooks().size();
+            System.out.print("-- " + shown + " of " + page.getTotal() + " shown (Enter for more, q to stop) --");
+            if (SCANNER.nextLine().trim().equalsIgnoreCase("q")) return;
+            page = LIBRARY.search(query, shown, RESULTS_PER_PAGE);
         }
-    }
-
-    private static Book findBookById(int id) {
-        return BOOKS.stream().filter(b -> b.getId() == id).findFirst().orElse(null);
     }
 
     private static void borrowBook() throws BookAlreadyBorrowedException, BookNotFoundException {
         int id = readInt("Enter book ID to borrow: ");
-        Book b = findBookById(id);
-        if (b == null) throw new BookNotFoundException("Book ID not found.");
-        b.borrow();
-        System.out.println("You borrowed: " + b);
+        System.out.print("Enter your name: ");
+        String patron = SCANNER.nextLine().trim();
+        Loan loan = LIBRARY.borrowBook(id, patron);
+        System.out.println("You borrowed: " + loan.getBook());
+        System.out.println(loan);
     }
 
-    private static void returnBook() throws BookNotFoundException {
-        int id = readInt("Enter book ID to return: ");
-        Book b = findBookById(id);
-        if (b == null) throw new BookNotFoundException("Book ID not found.");
-        b.giveBack();
-        System.out.println("Book returned: " + b);
+    private static void returnBook() throws LoanNotFoundException {
+        int id = readInt("Enter loan ID to return: ");
+        Loan loan = LIBRARY.returnBook(id);
+        System.out.println("Book returned: " + loan);
+        if (loan.getHandedTo() != null) {
+            System.out.println("The copy goes to " + loan.getHandedTo().getPatron() + ", next on the hold list: " + loan.getHandedTo());
+        }
+    }
+
+    private static void reserveBook() throws BookNotFoundException {
+        int id = readInt("Enter book ID to reserve: ");
+        System.out.print("Enter your name: ");
+        String patron = SCANNER.nextLine().trim();
+        int place = LIBRARY.reserveBook(id, patron);
+        if (place == 0) System.out.println("A copy was free; you borrowed it (see My Loans): " + LIBRARY.findBook(id));
+        else System.out.println("Reserved. You are number " + place + " in the queue.");
+    }
+
+    private static void myLoans() {
+        System.out.print("Enter your name: ");
+        List<Loan> loans = LIBRARY.loansOf(SCANNER.nextLine().trim());
+        if (loans.isEmpty()) {
+            System.out.println("No open loans.");
+            return;
+        }
+        System.out.println("\n--- Your Loans ---");
+        renderer.render(loans, Loan::appendTo);
+        long fines = loans.stream().mapToLong(Loan::getFineCents).sum();
+        if (fines > 0) System.out.println("Fines so far: " + Money.formatCents(fines));
     }
 
     private static void listBooks() {
-        if (BOOKS.isEmpty()) {
+        List<Book> books = LIBRARY.listBooks();
+        if (books.isEmpty()) {
             System.out.println("No books in library.");
             return;
         }
         System.out.println("\n--- Book List ---");
-        BOOKS.forEach(System.out::println);
+        renderer.render(books, Book::appendTo);
+    }
+
+    private static void importBooks() throws IOException {
+        System.out.print("CSV file (title,author,isbn[,copies] per line): ");
+        Path file = Path.of(SCANNER.nextLine().trim());
+        ImportReport report;
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            report = LIBRARY.importBooks(in, progress -> System.out.printf("  %,d rows so far (%,.0f rows/s)%n",
+                    progress.getRows(), progress.getRowsPerSecond()));
+        }
+        System.out.println(report);
+        for (String detail : report.getDetails()) System.out.println("  " + detail);
+        long unlisted = report.getInvalid() - report.getDetails().size();
+        if (unlisted > 0) System.out.println("  ... and " + unlisted + " more invalid row(s)");
     }
 
     // ---- Input helpers ---- //
@@ -0,0 +1,70 @@
+package LibraryManagement;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Library operations, independent of any console I/O.
+ */
+public interface LibraryService {
+
+    /** Adds one copy; see {@link #addBook(String, String, String, int)}. */
+    default Book addBook(String title, String author, String isbn) {
+        return addBook(title, author, isbn, 1);
+    }
+
+    /**
+     * Adds {@code copies} copies of the book with this ISBN, creating the title on first sight.
+     * ISBNs are compared by their digits and X only, so "978-0-13-468599-1" and "9780134685991"
+     * are the same book; a known ISBN with a different title is rejected.
+     */
+    Book addBook(String title, String author, String isbn, int copies);
+
+    /**
+     * Adds books from CSV rows {@code title,author,isbn[,copies]} as {@link #addBook} would, in
+     * file order, streaming the input so memory does not grow with its size. Invalid rows,
+     * including a known ISBN under another title, are skipped and reported. {@code progress}, if not
+     * null, receives the running report about once a second.
+     */
+    ImportReport importBooks(BufferedReader csv, Consumer<ImportReport> progress) throws IOException;
+
+    /** Returns the book with this ISBN, hyphenated or not, or null if there is none. */
+    Book findByIsbn(String isbn);
+
+    /**
+     * Ranked full-text search on the words of titles, authors and ISBNs (syntax in
+     * {@link CatalogIndex}); returns the books ranked [offset, offset + limit), best first.
+     */
+    SearchPage search(String query, int offset, int limit);
+
+    /** Returns the book with this id, or null if there is none. */
+    Book findBook(int id);
+
+    /** Lends a copy of the book to {@code patron}, due back in 14 days. */
+    Loan borrowBook(int id, String patron) throws BookNotFoundException, BookAlreadyBorrowedException;
+
+    /**
+     * Ends a loan and returns it with its final fine. If a patron was waiting for the book, the
+     * copy goes straight to them on a new loan, found with {@link Loan#getHandedTo()}.
+     */
+    Loan returnBook(long loanId) throws LoanNotFoundException;
+
+    /**
+     * Lends a copy to {@code patron} if one is on the shelf and returns 0; otherwise adds the
+     * patron to the book's hold queue and returns their place in it (1 is next).
+     */
+    int reserveBook(int id, String patron) throws BookNotFoundException;
+
+    /** Open loans of {@code patron}, oldest first, with their due dates and fines so far. */
+    List<Loan> loansOf(String patron);
+
+    /**
+     * Marks loans that have come due as overdue and adds the daily fines of overdue ones, up to
+     * now; returns how many loans changed. Call it about once a minute.
+     */
+    int processDueLoans();
+
+    List<Book> listBooks();
+}
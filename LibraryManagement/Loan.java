@@ -0,0 +1,77 @@
+package LibraryManagement;
+
+import Common.Money;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * One copy of a {@link Book} lent to a patron, from borrowing until it is returned.
+ * A {@link LoanDesk} timer marks the loan overdue at its due time and then adds a fine every day
+ * until it is returned or the fine reaches its cap.
+ */
+public class Loan extends TimingWheel.Entry {
+
+    private final long id;
+    private final Book book;
+    private final String patron;
+    private final long borrowedAt; // epoch millis
+    private final long dueAt;
+    private volatile boolean overdue;       // written under the desk's lock for this loan
+    private volatile long fineCents;
+    private volatile boolean returned;
+    private volatile long returnedAt;
+    private volatile Loan handedTo;
+
+    Loan(long id, Book book, String patron, long borrowedAt, long dueAt) {
+        this.id = id;
+        this.book = book;
+        this.patron = patron;
+        this.borrowedAt = borrowedAt;
+        this.dueAt = dueAt;
+    }
+
+    public long getId() { return id; }
+    public Book getBook() { return book; }
+    public String getPatron() { return patron; }
+    public long getBorrowedAt() { return borrowedAt; }
+    public long getDueAt() { return dueAt; }
+    public boolean isOverdue() { return overdue; }
+    public long getFineCents() { return fineCents; }
+    public boolean isReturned() { return returned; }
+    public long getReturnedAt() { return returnedAt; }
+
+    /** The loan opened for the next patron on the hold list when this copy came back, or null. */
+    public Loan getHandedTo() { return handedTo; }
+
+    void markOverdue() { overdue = true; }
+    void setFineCents(long cents) { fineCents = cents; }
+    void markReturned(long at) {
+        returnedAt = at;
+        returned = true;
+    }
+    void handTo(Loan next) { handedTo = next; }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(96);
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    /** Appends the same text as {@link #toString()}, for bulk listings. */
+    public void appendTo(StringBuilder sb) {
+        sb.append("Loan #").append(id).append(" | ").append(book.getTitle()).append(" | ").append(patron)
+                .append(" | due ").append(LocalDate.ofInstant(Instant.ofEpochMilli(dueAt), ZoneId.systemDefault()));
+        if (isReturned()) sb.append(" | returned");
+        else if (overdue) sb.append(" | OVERDUE");
+        long fine = fineCents;
+        if (fine > 0) {
+            sb.append(" | fine ");
+            Money.appendCents(sb, fine);
+        }
+    }
+}
+
+class LoanNotFoundException extends Exception {
+    public LoanNotFoundException(String msg) { super(msg);} }
@@ -0,0 +1,131 @@
+package LibraryManagement;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Open loans and their due-date timers.
+ * <p>
+ * Every open loan has exactly one pending timer: first its due time, which marks it overdue, then
+ * one a day after that, each adding {@link #FINE_PER_DAY_CENTS} until {@link #MAX_FINE_CENTS}.
+ * Timers live in {@link TimingWheel}s with one-minute ticks, so {@link #processDue} touches only
+ * the loans that are due, and opening or closing a loan is O(1) with no per-loan task or thread.
+ * Loans are spread over {@link #SHARDS} wheels by id, each with its own lock, so concurrent
+ * borrows and returns rarely wait for each other or for the ticker. Open loans are also indexed by
+ * patron, so listing one patron's loans does not scan everyone's.
+ */
+final class LoanDesk {
+    static final long TICK_MILLIS = 60_000;
+    static final long DAY_MILLIS = 86_400_000;
+    static final int LOAN_DAYS = 14;
+    static final long FINE_PER_DAY_CENTS = 25;
+    static final long MAX_FINE_CENTS = 1_000;
+    static final int SHARDS = 16;
+
+    private final LongSupplier clock; // epoch millis
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final Map<Long, Loan> open = new ConcurrentHashMap<>();
+    private final Map<String, Set<Loan>> openByPatron = new ConcurrentHashMap<>(); // keyed by patronKey
+    private final List<TimingWheel<Loan>> wheels = new ArrayList<>(SHARDS);
+
+    LoanDesk(LongSupplier clock) {
+        this.clock = clock;
+        long tick = clock.getAsLong() / TICK_MILLIS;
+        for (int i = 0; i < SHARDS; i++) wheels.add(new TimingWheel<>(tick));
+    }
+
+    /** Lends a copy of {@code book}, which the caller has already taken off the shelf. */
+    Loan open(Book book, String patron) {
+        long now = clock.getAsLong();
+        Loan loan = new Loan(nextId.getAndIncrement(), book, patron, now, now + LOAN_DAYS * DAY_MILLIS);
+        open.put(loan.getId(), loan);
+        openByPatron.compute(patronKey(patron), (key, loans) -> {
+            if (loans == null) loans = ConcurrentHashMap.newKeySet();
+            loans.add(loan);
+            return loans;
+        });
+        TimingWheel<Loan> wheel = wheelOf(loan);
+        synchronized (wheel) {
+            wheel.schedule(loan, tickOf(loan.getDueAt()));
+        }
+        return loan;
+    }
+
+    /** Ends the loan, settling its fine as of now whether or not its timers have caught up. */
+    Loan close(long id) throws LoanNotFoundException {
+        Loan loan = open.remove(id); // only one of two concurrent returns gets the loan
+        if (loan == null) throw new LoanNotFoundException("No open loan #" + id);
+        openByPatron.computeIfPresent(patronKey(loan.getPatron()), (key, loans) -> {
+            loans.remove(loan);
+            return loans.isEmpty() ? null : loans;
+        });
+        long now = clock.getAsLong();
+        TimingWheel<Loan> wheel = wheelOf(loan);
+        synchronized (wheel) {
+            wheel.cancel(loan);
+            if (now >= loan.getDueAt()) {
+                loan.markOverdue();
+                long days = (now - loan.getDueAt()) / DAY_MILLIS;
+                loan.setFineCents(Math.min(days * FINE_PER_DAY_CENTS, MAX_FINE_CENTS));
+            }
+            loan.markReturned(now);
+        }
+        return loan;
+    }
+
+    /** Fires every timer due by now; returns how many fired. Meant to be called once a tick. */
+    int processDue() {
+        long tick = clock.getAsLong() / TICK_MILLIS;
+        int fired = 0;
+        for (TimingWheel<Loan> wheel : wheels) {
+            synchronized (wheel) {
+                fired += wheel.advanceTo(tick, loan -> fire(wheel, loan));
+            }
+        }
+        return fired;
+    }
+
+    /** Open loans of {@code patron} (ignoring case), oldest first. */
+    List<Loan> loansOf(String patron) {
+        Set<Loan> loans = openByPatron.get(patronKey(patron));
+        if (loans == null) return new ArrayList<>();
+        List<Loan> result = new ArrayList<>(loans);
+        result.sort(Comparator.comparingLong(Loan::getId));
+        return result;
+    }
+
+    /** Folds each char as {@link String#equalsIgnoreCase} does, so two names have equal keys exactly when they match. */
+    static String patronKey(String patron) {
+        char[] folded = patron.toCharArray();
+        for (int i = 0; i < folded.length; i++) folded[i] = Character.toLowerCase(Character.toUpperCase(folded[i]));
+        return new String(folded);
+    }
+
+    int openLoans() {
+        return open.size();
+    }
+
+    private void fire(TimingWheel<Loan> wheel, Loan loan) {
+        if (!loan.isOverdue()) loan.markOverdue();
+        else loan.setFineCents(loan.getFineCents() + FINE_PER_DAY_CENTS);
+        if (loan.getFineCents() < MAX_FINE_CENTS) {
+            long days = loan.getFineCents() / FINE_PER_DAY_CENTS + 1;
+            wheel.schedule(loan, tickOf(loan.getDueAt() + days * DAY_MILLIS));
+        }
+    }
+
+    private TimingWheel<Loan> wheelOf(Loan loan) {
+        return wheels.get((int) (loan.getId() & (SHARDS - 1)));
+    }
+
+    /** The first tick at or after {@code millis}, so a timer never fires early. */
+    private static long tickOf(long millis) {
+        return Math.floorDiv(millis + TICK_MILLIS - 1, TICK_MILLIS);
+    }
+}
@@ -0,0 +1,73 @@
+package LibraryManagement;
+
+import Common.Bench;
+
+/**
+ * Cost of the loan timers with many open loans, on a simulated clock. Loans are opened evenly
+ * over 14 days, then the clock runs minute by minute for 30 more days with
+ * {@link LibraryService#processDueLoans} called every tick, as the CLI's ticker does, so every
+ * loan comes due and accrues fines up to the cap. Reported per tick and per fired timer, next to
+ * one pass checking every open loan's due time, which is what a per-tick sweep would cost instead.
+ * The slowest tick is the one where a coarse slot drops a few days' worth of loans to a finer ring.
+ * Also times listing the loans of one of the {@link #PATRONS} patrons.
+ * Usage: java LibraryManagement.LoanTimerBenchmark [maxSize]
+ */
+public class LoanTimerBenchmark {
+    private static final long MINUTE = LoanDesk.TICK_MILLIS;
+    private static final long DAY = LoanDesk.DAY_MILLIS;
+    private static final int PATRONS = 1024;
+
+    public static void main(String[] args) throws Exception {
+        Bench.header();
+        for (int size : Bench.sizes(args)) run(size);
+    }
+
+    private static void run(int size) throws Exception {
+        long[] clock = {0};
+        LibraryService library = new InMemoryLibraryService(() -> clock[0]);
+        Book book = library.addBook("Title", "Author", "9781000000000", size);
+        long spacing = Math.max(1, 14 * DAY / size);
+        Loan[] loans = new Loan[size];
+        long start = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            clock[0] += spacing;
+            loans[i] = library.borrowBook(book.getId(), "patron" + (i % PATRONS));
+            if (clock[0] % MINUTE < spacing) Bench.consume(library.processDueLoans()); // a tick passed
+        }
+        Bench.report("borrowBook with timer", size, (double) (System.nanoTime() - start) / size);
+
+        long ticks = 30 * DAY / MINUTE;
+        long fired = 0;
+        long worst = 0;
+        start = System.nanoTime();
+        for (long t = 0; t < ticks; t++) {
+            clock[0] += MINUTE;
+            long tickStart = System.nanoTime();
+            fired += library.processDueLoans();
+            worst = Math.max(worst, System.nanoTime() - tickStart);
+        }
+        long elapsed = System.nanoTime() - start;
+        Bench.report("processDueLoans per tick", size, (double) elapsed / ticks);
+        Bench.report("processDueLoans slowest tick", size, worst);
+        Bench.report("processDueLoans per fired timer", size, (double) elapsed / Math.max(1, fired));
+
+        long scan = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) { // best of five, so the JIT has compiled the scan
+            start = System.nanoTime();
+            Bench.consume(sweep(loans, clock[0]));
+            scan = Math.min(scan, System.nanoTime() - start);
+        }
+        Bench.report("sweep of every open loan", size, scan);
+        Bench.measure("loansOf one patron", size, () -> library.loansOf("patron7").size());
+        System.out.printf("    %,d timers fired over %,d ticks%n", fired, ticks);
+    }
+
+    /** What a ticker without timers would do each tick: check every open loan's due time. */
+    private static long sweep(Loan[] loans, long now) {
+        long due = 0;
+        for (Loan loan : loans) {
+            if (!loan.isReturned() && loan.getDueAt() <= now) due++;
+        }
+        return due;
+    }
+}
@@ -0,0 +1,25 @@
+package LibraryManagement;
+
+import java.util.List;
+
+/** One page of ranked search results and the total number of matching books. */
+public class SearchPage {
+    private final List<Book> books;
+    private final int offset;
+    private final int total;
+
+    public SearchPage(List<Book> books, int offset, int total) {
+        this.books = books;
+        this.offset = offset;
+        this.total = total;
+    }
+
+    public List<Book> getBooks() { return books; }
+
+    /** Rank of the first book on this page, counting from 0. */
+    public int getOffset() { return offset; }
+
+    public int getTotal() { return total; }
+
+    public boolean hasMore() { return offset + books.size() < total; }
+}
@@ -0,0 +1,128 @@
+package LibraryManagement;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: {@link #LEVELS} rings of {@link #SLOTS} slots, the first one tick per
+ * slot, each next ring {@link #SLOTS} times coarser, so with one-minute ticks the wheel spans 31
+ * years. An entry sits in the ring matching how far off it is and drops to a finer ring when its
+ * coarse slot comes round, so each entry moves at most {@code LEVELS - 1} times and a tick only
+ * visits the one slot that is due, whatever the number of pending entries.
+ * Entries are intrusive list nodes, so scheduling and cancelling are O(1) and allocate nothing.
+ * Not thread-safe: the owner locks it.
+ */
+class TimingWheel<E extends TimingWheel.Entry> {
+    static final int SLOT_BITS = 6;
+    static final int SLOTS = 1 << SLOT_BITS;
+    static final int LEVELS = 4;
+    private static final long SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    /** A schedulable item; an entry is in at most one wheel at a time. */
+    abstract static class Entry {
+        long deadline;
+        int slot = -1; // index into heads, or -1 when not scheduled
+        Entry prev;
+        Entry next;
+
+        boolean isScheduled() { return slot >= 0; }
+    }
+
+    private final Entry[] heads = new Entry[LEVELS * SLOTS];
+    private long now;
+    private int size;
+
+    TimingWheel(long startTick) {
+        this.now = startTick;
+    }
+
+    /** The last tick processed. */
+    long now() {
+        return now;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Schedules {@code e} to fire at {@code deadline}, or at the next tick if that has passed. */
+    void schedule(E e, long deadline) {
+        if (e.isScheduled()) cancel(e);
+        e.deadline = deadline;
+        insert(e, now + 1);
+        size++;
+    }
+
+    /** Removes {@code e} if it is scheduled. */
+    void cancel(E e) {
+        if (!e.isScheduled()) return;
+        unlink(e);
+        size--;
+    }
+
+    /**
+     * Processes every tick up to {@code tick}, passing each entry that comes due to {@code fire},
+     * which may schedule it again. Returns the number of entries fired.
+     */
+    @SuppressWarnings("unchecked")
+    int advanceTo(long tick, Consumer<? super E> fire) {
+        int fired = 0;
+        while (now < tick) {
+            if (size == 0) { // nothing can come due: skip straight to the target
+                now = tick;
+                break;
+            }
+            now++;
+            // when a ring's slot wraps to 0, the next coarser ring's current slot drops down a level
+            for (int level = 1; level < LEVELS && (now & ((1L << (SLOT_BITS * level)) - 1)) == 0; level++) {
+                int slot = level * SLOTS + (int) ((now >>> (SLOT_BITS * level)) & (SLOTS - 1));
+                Entry e = heads[slot];
+                heads[slot] = null;
+                while (e != null) {
+                    Entry next = e.next;
+                    insert(e, now);
+                    e = next;
+                }
+            }
+            int slot = (int) (now & (SLOTS - 1));
+            Entry e = heads[slot];
+            heads[slot] = null;
+            while (e != null) {
+                Entry next = e.next;
+                e.slot = -1;
+                e.prev = e.next = null;
+                size--;
+                fired++;
+                fire.accept((E) e);
+                e = next;
+            }
+        }
+        return fired;
+    }
+
+    /** Links {@code e} into its slot; an entry due at or before {@code earliest} goes in that tick's slot. */
+    private void insert(Entry e, long earliest) {
+        long delta = e.deadline - now;
+        int slot;
+        if (e.deadline <= earliest) {
+            slot = (int) (earliest & (SLOTS - 1));
+        } else {
+            long at = delta < SPAN ? e.deadline : now + SPAN - 1; // beyond the top ring: park, then re-place
+            int level = 0;
+            while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) level++;
+            slot = level * SLOTS + (int) ((at >>> (SLOT_BITS * level)) & (SLOTS - 1));
+        }
+        e.slot = slot;
+        e.prev = null;
+        e.next = heads[slot];
+        if (e.next != null) e.next.prev = e;
+        heads[slot] = e;
+    }
+
+    private void unlink(Entry e) {
+        if (e.prev != null) e.prev.next = e.next;
+        else heads[e.slot] = e.next;
+        if (e.next != null) e.next.prev = e.prev;
+        e.slot = -1;
+        e.prev = e.next = null;
+    }
+}
@@ -0,0 +1,69 @@
+package PasswordManager;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link PasswordService} keeping entries in memory.
+ * Thread-safe: the entry list is guarded by the service lock and SecureRandom is thread-safe.
+ */
+public class InMemoryPasswordService implements PasswordService {
+
+    private static final String UPPER = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String LOWER = "abcdefghijklmnopqrstuvwxyz";
+    private static final String DIGITS = "0123456789";
+    private static final String SPECIAL = "!@#$%^&*()-_=+[]{};:,.<>/?";
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final List<Password> stored = new ArrayList<>();
+
+    @Override
+    public String generatePassword(int length, boolean includeSpecial) {
+        String chars = UPPER + LOWER + DIGITS + (includeSpecial ? SPECIAL : "");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append(chars.charAt(RANDOM.nextInt(chars.length())));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public int calculateStrength(String pwd) {
+        int score = 0;
+        if (pwd.length() >= 8) score += 2;
+        if (pwd.length() >= 12) score += 2;
+        if (pwd.chars().anyMatch(Character::isUpperCase)) score += 2;
+        if (pwd.chars().anyMatch(Character::isLowerCase)) score += 2;
+        if (pwd.chars().anyMatch(Character::isDigit)) score += 2;
+        if (pwd.chars().anyMatch(ch -> SPECIAL.indexOf(ch) != -1)) score += 2;
+        return score; // up to 12
+    }
+
+    @Override
+    public boolean isPasswordSecure(String pwd) {
+        return calculateStrength(pwd) >= 8;
+    }
+
+    @Override
+    public synchronized Password addEntry(String service, String username, String plainPassword) {
+        if (plainPassword == null || plainPassword.isBlank()) plainPassword = generatePassword(12, true);
+        Password p = new Password(service, username, plainPassword);
+        stored.add(p);
+        return p;
+    }
+
+    @Override
+    public synchronized List<Password> listEntries() {
+        return new ArrayList<>(stored);
+    }
+
+    @Override
+    public synchronized List<Password> findWeakPasswords() {
+        List<Password> weak = new ArrayList<>();
+        for (Password p : stored) {
+            if (!isPasswordSecure(p.getDecodedPassword())) weak.add(p);
+        }
+        return weak;
+    }
+}
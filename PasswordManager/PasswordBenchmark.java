@@ -0,0 +1,20 @@
+package PasswordManager;
+
+import Common.Bench;
+
+/**
+ * Micro-benchmarks for password generation and scoring; size is the password length.
+ * Usage: java PasswordManager.PasswordBenchmark [maxSize]
+ */
+public class PasswordBenchmark {
+
+    public static void main(String[] args) {
+        Bench.header();
+        PasswordService passwords = new InMemoryPasswordService();
+        for (int size : Bench.sizes(args)) {
+            String pwd = passwords.generatePassword(size, true);
+            Bench.measure("generatePassword", size, () -> passwords.generatePassword(size, true).length());
+            Bench.measure("calculateStrength", size, () -> passwords.calculateStrength(pwd));
+        }
+    }
+}
@@ -1,23 +1,16 @@
 package PasswordManager;
 
-import java.security.SecureRandom;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 
 /**
  * Password Manager CLI (basic)
+ * A thin console client of {@link PasswordService}.
  */
 public class PasswordManagerCLI {
 
     private static final Scanner SCANNER = new Scanner(System.in);
-    private static final List<Password> STORED = new ArrayList<>();
-
-    private static final String UPPER = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
-    private static final String LOWER = "abcdefghijklmnopqrstuvwxyz";
-    private static final String DIGITS = "0123456789";
-    private static final String SPECIAL = "!@#$%^&*()-_=+[]{};:,.<>/?";
-    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final PasswordService PASSWORDS = new InMemoryPasswordService();
 
     public static void main(String[] args) {
         System.out.println("===== Password Manager =====");
@@ -54,9 +47,9 @@ public class PasswordManagerCLI {
         int len = readInt("Length: ");
         System.out.print("Include special characters? (y/n): ");
         boolean includeSpecial = SCANNER.nextLine().trim().equalsIgnoreCase("y");
-        String pwd = generatePassword(len, includeSpecial);
+        String pwd = PASSWORDS.generatePassword(len, includeSpecial);
         System.out.println("Generated password: " + pwd);
-        System.out.println("Strength score: " + calculateStrength(pwd));
+        System.out.println("Strength score: " + PASSWORDS.calculateStrength(pwd));
     }
 
     private static void addPasswordEntry() {
@@ -66,28 +59,23 @@ public class PasswordManagerCLI {
         String user = SCANNER.nextLine().trim();
         System.out.print("Password (leave blank to generate): ");
         String pwd = SCANNER.nextLine().trim();
-        if (pwd.isBlank()) {
-            pwd = generatePassword(12, true);
-            System.out.println("Generated: " + pwd);
-        }
-        STORED.add(new Password(service, user, pwd));
+        Password entry = PASSWORDS.addEntry(service, user, pwd);
+        if (pwd.isBlank()) System.out.println("Generated: " + entry.getDecodedPassword());
         System.out.println("Saved entry.");
     }
 
     private static void listPasswords() {
-        if (STORED.isEmpty()) {
+        List<Password> stored = PASSWORDS.listEntries();
+        if (stored.isEmpty()) {
             System.out.println("No passwords stored.");
             return;
         }
         System.out.println("Stored passwords (decoded displayed for demo):");
-        STORED.forEach(p -> System.out.printf("%s | %s%n", p, p.getDecodedPassword()));
+        stored.forEach(p -> System.out.printf("%s | %s%n", p, p.getDecodedPassword()));
     }
 
     private static void findWeakPasswords() {
-        List<String> weak = new ArrayList<>();
-        for (Password p : STORED) {
-            if (!isPasswordSecure(p.getDecodedPassword())) weak.add(p.toString());
-        }
+        List<Password> weak = PASSWORDS.findWeakPasswords();
         if (weak.isEmpty()) System.out.println("No weak passwords.");
         else {
             System.out.println("Weak entries:");
@@ -95,29 +83,16 @@ public class PasswordManagerCLI {
         }
     }
 
-    // ---- password utils ---- //
+    // ---- helpers ---- //
 
-    public static String generatePassword(int length, boolean includeSpecial) {
-        String chars = UPPER + LOWER + DIGITS + (includeSpecial ? SPECIAL : "");
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < length; i++) {
-            sb.append(chars.charAt(RANDOM.nextInt(chars.length())));
+    private static int readInt(String prompt) {
+        while (true) {
+            System.out.print(prompt);
+            try {
+                return Integer.parseInt(SCANNER.nextLine().trim());
+            } catch (NumberFormatException e) {
+                System.out.println("Enter valid integer.");
+            }
         }
-        return sb.toString();
-    }
-
-    public static int calculateStrength(String pwd) {
-        int score = 0;
-        if (pwd.length() >= 8) score += 2;
-        if (pwd.length() >= 12) score += 2;
-        if (pwd.chars().anyMatch(Character::isUpperCase)) score += 2;
-        if (pwd.chars().anyMatch(Character::isLowerCase)) score += 2;
-        if (pwd.chars().anyMatch(Character::isDigit)) score += 2;
-        if (pwd.chars().anyMatch(ch -> SPECIAL.indexOf(ch) != -1)) score += 2;
-        return score; // up to 12
-    }
-
-    public static boolean isPasswordSecure(String pwd) {
-        return calculateStrength(pwd) >= 8;
     }
 }
@@ -0,0 +1,23 @@
+package PasswordManager;
+
+import java.util.List;
+
+/**
+ * Password manager operations, independent of any console I/O.
+ */
+public interface PasswordService {
+
+    String generatePassword(int length, boolean includeSpecial);
+
+    /** Scores a password from 0 to 12. */
+    int calculateStrength(String pwd);
+
+    boolean isPasswordSecure(String pwd);
+
+    /** Stores an entry; a blank password is replaced by a generated one. */
+    Password addEntry(String service, String username, String plainPassword);
+
+    List<Password> listEntries();
+
+    List<Password> findWeakPasswords();
+}
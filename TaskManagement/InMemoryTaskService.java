@@ -0,0 +1,49 @@
+package TaskManagement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link TaskService} holding tasks in memory.
+ * Thread-safe: every method locks the service, and every {@link Task} handed out is a snapshot
+ * taken under that lock, so completing a task never changes one a caller already holds.
+ */
+public class InMemoryTaskService implements TaskService {
+
+    private final List<Task> tasks = new ArrayList<>();
+
+    @Override
+    public synchronized Task addTask(String description, int priority, String dueDate)
+            throws InvalidPriorityException, DateParseException {
+        Task t = new Task(description, priority, dueDate);
+        tasks.add(t);
+        return t.snapshot();
+    }
+
+    @Override
+    public synchronized List<Task> listTasks() {
+        List<Task> copies = new ArrayList<>(tasks.size());
+        for (Task t : tasks) copies.add(t.snapshot());
+        return copies;
+    }
+
+    @Override
+    public synchronized Task markComplete(int id) throws TaskNotFoundException, TaskAlreadyCompletedException {
+        Task t = tasks.stream().filter(task -> task.getId() == id).findFirst().orElse(null);
+        if (t == null) throw new TaskNotFoundException("ID not found");
+        t.markComplete();
+        return t.snapshot();
+    }
+
+    @Override
+    public synchronized List<Task> overdueTasks() {
+        return tasks.stream().filter(Task::isOverdue).map(Task::snapshot).toList();
+    }
+
+    @Override
+    public synchronized double completionRate() {
+        if (tasks.isEmpty()) return 0;
+        long done = tasks.stream().filter(Task::isCompleted).count();
+        return (done * 100.0) / tasks.size();
+    }
+}
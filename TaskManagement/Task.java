@@ -27,6 +27,19 @@ public class Task {
         this.id = NEXT_ID++;
     }
 
+    private Task(Task source) {
+        this.id = source.id;
+        this.description = source.description;
+        this.priority = source.priority;
+        this.dueDate = source.dueDate;
+        this.completed = source.completed;
+    }
+
+    /** A copy with the same id that completing this task later leaves alone. */
+    Task snapshot() {
+        return new Task(this);
+    }
+
     public int getId() { return id; }
     public String getDescription() { return description; }
     public int getPriority() { return priority; }
@@ -44,7 +57,15 @@ public class Task {
 
     @Override
     public String toString() {
-        return String.format("#%d | %s | Priority:%d | Due:%s | %s", id, description, priority, dueDate, completed ? "Done" : "Pending");
+        StringBuilder sb = new StringBuilder(64);
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    /** Appends the same text as {@link #toString()}, for bulk listings. */
+    public void appendTo(StringBuilder sb) {
+        sb.append('#').append(id).append(" | ").append(description).append(" | Priority:").append(priority)
+                .append(" | Due:").append(dueDate).append(" | ").append(completed ? "Done" : "Pending");
     }
 }
 
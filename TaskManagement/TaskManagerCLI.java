@@ -1,18 +1,22 @@
 package TaskManagement;
 
-import java.util.ArrayList;
+import Common.ListRenderer;
 import java.util.List;
 import java.util.Scanner;
 
 /**
  * Task Management CLI
+ * A thin console client of {@link TaskService}.
+ * Listings honour --page-size N and --limit N (see {@link ListRenderer}).
  */
 public class TaskManagerCLI {
 
     private static final Scanner SCANNER = new Scanner(System.in);
-    private static final List<Task> TASKS = new ArrayList<>();
+    private static final TaskService TASKS = new InMemoryTaskService();
+    private static ListRenderer renderer;
 
     public static void main(String[] args) {
+        renderer = ListRenderer.fromArgs(args, SCANNER);
         System.out.println("===== Task Manager =====");
         while (true) {
             printMenu();
@@ -47,44 +51,36 @@ public class TaskManagerCLI {
         System.out.println("6. Exit");
     }
 
-    private static Task findTask(int id) {
-        return TASKS.stream().filter(t -> t.getId() == id).findFirst().orElse(null);
-    }
-
     private static void addTask() throws InvalidPriorityException, DateParseException {
         System.out.print("Description: ");
         String desc = SCANNER.nextLine().trim();
         int priority = readInt("Priority (1-5): ");
         System.out.print("Due date (YYYY-MM-DD): ");
         String date = SCANNER.nextLine().trim();
-        TASKS.add(new Task(desc, priority, date));
+        TASKS.addTask(desc, priority, date);
         System.out.println("Task added.");
     }
 
     private static void listTasks() {
-        if (TASKS.isEmpty()) { System.out.println("No tasks."); return; }
-        TASKS.forEach(System.out::println);
+        List<Task> tasks = TASKS.listTasks();
+        if (tasks.isEmpty()) { System.out.println("No tasks."); return; }
+        renderer.render(tasks, Task::appendTo);
     }
 
     private static void markComplete() throws TaskNotFoundException, TaskAlreadyCompletedException {
         int id = readInt("Task ID to complete: ");
-        Task t = findTask(id);
-        if (t == null) throw new TaskNotFoundException("ID not found");
-        t.markComplete();
+        TASKS.markComplete(id);
         System.out.println("Marked complete.");
     }
 
     private static void showOverdue() {
         System.out.println("Overdue tasks:");
-        TASKS.stream().filter(Task::isOverdue).forEach(System.out::println);
+        renderer.render(TASKS.overdueTasks(), Task::appendTo);
     }
 
     private static void showCompletionRate() {
-        long total = TASKS.size();
-        long done = TASKS.stream().filter(Task::isCompleted).count();
-        if (total == 0) { System.out.println("No tasks."); return; }
-        double rate = (done * 100.0) / total;
-        System.out.printf("Completion rate: %.2f%%%n", rate);
+        if (TASKS.listTasks().isEmpty()) { System.out.println("No tasks."); return; }
+        System.out.printf("Completion rate: %.2f%%%n", TASKS.completionRate());
     }
 
     // helpers
@@ -0,0 +1,20 @@
+package TaskManagement;
+
+import java.util.List;
+
+/**
+ * Task tracking operations, independent of any console I/O.
+ */
+public interface TaskService {
+
+    Task addTask(String description, int priority, String dueDate) throws InvalidPriorityException, DateParseException;
+
+    List<Task> listTasks();
+
+    Task markComplete(int id) throws TaskNotFoundException, TaskAlreadyCompletedException;
+
+    List<Task> overdueTasks();
+
+    /** Percentage of tasks completed, or 0 when there are no tasks. */
+    double completionRate();
+}
@@ -0,0 +1,29 @@
+package Benchmarks;
+
+import ExpenseTracker.ExpenseService;
+import ExpenseTracker.InMemoryExpenseService;
+import java.time.LocalDate;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+/** {@code ExpenseTrackerCLI.categoryTotal}: the all-time total of one category. */
+public class CategoryTotalBenchmark extends SizedBenchmark {
+    private static final List<String> CATEGORIES = List.of("Food", "Transport", "Entertainment", "Bills", "Other");
+
+    private ExpenseService expenses;
+
+    @Setup
+    public void setUp() {
+        expenses = new InMemoryExpenseService();
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < size; i++) {
+            expenses.addExpense(100 + i % 10_000, CATEGORIES.get(i % CATEGORIES.size()), start.plusDays(i % 2_000), "");
+        }
+    }
+
+    @Benchmark
+    public long categoryTotal() {
+        return expenses.categoryTotal("Food");
+    }
+}
@@ -0,0 +1,27 @@
+package Benchmarks;
+
+import BankAccount.AccountRegistry;
+import BankAccount.BankService;
+import BankAccount.InMemoryBankService;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+/** {@code BankingAccountManager.findAccount}: lookup of a random account by number. */
+public class FindAccountBenchmark extends SizedBenchmark {
+    private BankService bank;
+    private int[] numbers;
+
+    @Setup
+    public void setUp() throws IOException {
+        bank = new InMemoryBankService(new AccountRegistry());
+        numbers = new int[size];
+        for (int i = 0; i < size; i++) numbers[i] = bank.createAccount("Holder " + i, 10_000).getAccountNumber();
+    }
+
+    @Benchmark
+    public long findAccount() {
+        return bank.findAccount(numbers[ThreadLocalRandom.current().nextInt(size)]).getBalanceCents();
+    }
+}
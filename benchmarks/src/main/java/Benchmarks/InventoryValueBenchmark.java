@@ -0,0 +1,22 @@
+package Benchmarks;
+
+import InventoryManagement.InMemoryInventoryService;
+import InventoryManagement.InventoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+/** {@code InventoryManagerCLI.inventoryValue}: the total value of all stock. */
+public class InventoryValueBenchmark extends SizedBenchmark {
+    private InventoryService inventory;
+
+    @Setup
+    public void setUp() {
+        inventory = new InMemoryInventoryService();
+        for (int i = 0; i < size; i++) inventory.addProduct("Product " + i, i % 500, 99 + i % 10_000, 10);
+    }
+
+    @Benchmark
+    public long inventoryValue() {
+        return inventory.inventoryValueCents();
+    }
+}
@@ -0,0 +1,28 @@
+package Benchmarks;
+
+import PasswordManager.InMemoryPasswordService;
+import PasswordManager.PasswordService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+/** {@code PasswordManagerCLI.generatePassword} and {@code calculateStrength} on passwords of {@code size} characters. */
+public class PasswordBenchmark extends SizedBenchmark {
+    private PasswordService passwords;
+    private String password;
+
+    @Setup
+    public void setUp() {
+        passwords = new InMemoryPasswordService();
+        password = passwords.generatePassword(size, true);
+    }
+
+    @Benchmark
+    public String generatePassword() {
+        return passwords.generatePassword(size, true);
+    }
+
+    @Benchmark
+    public int calculateStrength() {
+        return passwords.calculateStrength(password);
+    }
+}
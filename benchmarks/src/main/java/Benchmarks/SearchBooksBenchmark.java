@@ -0,0 +1,34 @@
+package Benchmarks;
+
+import LibraryManagement.InMemoryLibraryService;
+import LibraryManagement.LibraryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * {@code LibraryBookManager.searchBooks}, which is now the indexed {@link LibraryService#search}:
+ * the top 10 for a title matching one book, and for an author shared by many.
+ */
+public class SearchBooksBenchmark extends SizedBenchmark {
+    private LibraryService library;
+    private String rare;
+
+    @Setup
+    public void setUp() {
+        library = new InMemoryLibraryService();
+        for (int i = 0; i < size; i++) {
+            library.addBook("Title " + i, "Author " + (i % 5_000), "978" + (1_000_000_000L + i));
+        }
+        rare = "title " + (size / 2);
+    }
+
+    @Benchmark
+    public int oneHit() {
+        return library.search(rare, 0, 10).getTotal();
+    }
+
+    @Benchmark
+    public int author() {
+        return library.search("author 42", 0, 10).getTotal();
+    }
+}
@@ -0,0 +1,31 @@
+package Benchmarks;
+
+import ContactDirectory.ContactService;
+import ContactDirectory.InMemoryContactService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+/** {@code ContactDirectoryCLI.searchByKeyword}: substring search that matches one contact, and one that matches none. */
+public class SearchByKeywordBenchmark extends SizedBenchmark {
+    private ContactService directory;
+    private String rare;
+
+    @Setup
+    public void setUp() throws Exception {
+        directory = new InMemoryContactService();
+        for (int i = 0; i < size; i++) {
+            directory.addContact("Person " + i, "+977" + (10_000_000 + i), "person" + i + "@example.com", "");
+        }
+        rare = "person" + (size / 2) + "@";
+    }
+
+    @Benchmark
+    public int oneHit() {
+        return directory.searchByKeyword(rare).size();
+    }
+
+    @Benchmark
+    public int noHit() {
+        return directory.searchByKeyword("zzz").size();
+    }
+}
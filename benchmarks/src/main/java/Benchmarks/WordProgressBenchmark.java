@@ -0,0 +1,24 @@
+package Benchmarks;
+
+import Hangman.HangmanGame;
+import java.util.Set;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+/** {@code HangmanGame.displayWordProgress} for a word of {@code size} letters with the vowels and r, s, t guessed. */
+public class WordProgressBenchmark extends SizedBenchmark {
+    private final Set<Character> guessed = Set.of('a', 'e', 'i', 'o', 'u', 'r', 's', 't');
+    private String word;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder(size);
+        for (int i = 0; i < size; i++) sb.append((char) ('a' + i % 26));
+        word = sb.toString();
+    }
+
+    @Benchmark
+    public String displayWordProgress() {
+        return HangmanGame.displayWordProgress(word, guessed);
+    }
+}